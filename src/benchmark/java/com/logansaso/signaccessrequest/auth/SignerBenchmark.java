@@ -0,0 +1,72 @@
+package com.logansaso.signaccessrequest.auth;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Compares the cost of signing a client assertion with each {@link JwtSigner} backend.
+ * Run each backend in a fresh JVM (./gradlew benchmarkSigners), since the first signature includes
+ * class loading and provider setup, which is what the plugin pays when it fetches its first token.
+ *
+ * Arguments: backend (jdk or bouncycastle), then optionally the number of measured signatures.
+ */
+public final class SignerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private SignerBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String backend = args.length > 0 ? args[0] : "jdk";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+        byte[] privateKey = new byte[32];
+        new SecureRandom().nextBytes(privateKey);
+        byte[] message = sampleSigningInput();
+
+        // Cold: key setup, class loading and provider initialization, then one signature
+        int classesBefore = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        long coldStart = System.nanoTime();
+        JwtSigner signer = JwtSigner.ed25519(privateKey, backend);
+        byte[] signature = signer.sign(message);
+        long coldNanos = System.nanoTime() - coldStart;
+        int classesLoaded = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount() - classesBefore;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            signer.sign(message);
+        }
+
+        long warmStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            signer.sign(message);
+        }
+        long warmNanos = System.nanoTime() - warmStart;
+
+        System.out.printf("%s%n", signer.getName());
+        System.out.printf("  first signature: %.2f ms (%d classes loaded)%n", coldNanos / 1e6, classesLoaded);
+        System.out.printf("  steady state:    %.1f us/signature (%,.0f signatures/s over %,d)%n",
+                          warmNanos / 1e3 / iterations, iterations / (warmNanos / 1e9), iterations);
+
+        // Ed25519 is deterministic, so both backends must produce the same signature
+        String other = "jdk".equals(backend) ? "bouncycastle" : "jdk";
+        try {
+            boolean same = Arrays.equals(signature, JwtSigner.ed25519(privateKey, other).sign(message));
+            System.out.printf("  matches %s: %s%n", other, same);
+        } catch (Exception e) {
+            System.out.printf("  %s not available to cross-check: %s%n", other, e.getMessage());
+        }
+    }
+
+    private static byte[] sampleSigningInput() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = "{\"alg\":\"EdDSA\",\"typ\":\"JWT\"}";
+        String claims = "{\"iss\":\"benchmark-client-id@example.conductor.one/pcc\",\"sub\":\"benchmark-client-id@example.conductor.one/pcc\"," +
+                        "\"aud\":\"example.conductor.one\",\"exp\":1700000120,\"iat\":1700000000,\"nbf\":1699999880}";
+        return (encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "." +
+                encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8))).getBytes(StandardCharsets.UTF_8);
+    }
+}
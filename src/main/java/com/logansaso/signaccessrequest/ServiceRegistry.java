@@ -0,0 +1,87 @@
+package com.logansaso.signaccessrequest;
+
+import com.logansaso.signaccessrequest.auth.TokenManager;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.util.SignValidator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the current, versioned set of API services.
+ * A reload builds a complete new snapshot and publishes it in one volatile write, so every reader
+ * sees either the old or the new services, never a mix. Work that already captured a snapshot
+ * finishes on it.
+ */
+public class ServiceRegistry {
+
+    private volatile Snapshot current;
+
+    /**
+     * The services currently in use, or null before the first publish
+     */
+    public Snapshot current() {
+        return current;
+    }
+
+    /**
+     * Publishes a new set of per-tenant API clients and returns its snapshot
+     *
+     * @param apiClients Tenant name -> client; must contain the default tenant
+     */
+    public synchronized Snapshot publish(Map<String, C1ApiClient> apiClients) {
+        int version = current != null ? current.getVersion() + 1 : 1;
+        Snapshot snapshot = new Snapshot(version, apiClients);
+        current = snapshot;
+        return snapshot;
+    }
+
+    public static class Snapshot {
+        private final int version;
+        private final Map<String, C1ApiClient> apiClients;
+
+        private Snapshot(int version, Map<String, C1ApiClient> apiClients) {
+            this.version = version;
+            this.apiClients = Collections.unmodifiableMap(new LinkedHashMap<>(apiClients));
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * The token manager of the default tenant
+         */
+        public TokenManager getTokenManager() {
+            return getApiClient().getTokenManager();
+        }
+
+        /**
+         * The API client of the default tenant
+         */
+        public C1ApiClient getApiClient() {
+            return apiClients.get(SignValidator.DEFAULT_TENANT);
+        }
+
+        /**
+         * The API client of a named tenant, or null if no such tenant is configured
+         */
+        public C1ApiClient getApiClient(String tenant) {
+            return apiClients.get(tenant);
+        }
+
+        /**
+         * Every tenant's API client, the default tenant first
+         */
+        public Collection<C1ApiClient> getApiClients() {
+            return apiClients.values();
+        }
+
+        public Set<String> getTenantNames() {
+            return apiClients.keySet();
+        }
+    }
+}
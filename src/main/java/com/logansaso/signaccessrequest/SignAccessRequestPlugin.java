@@ -1,27 +1,133 @@
 package com.logansaso.signaccessrequest;
 
 import com.logansaso.signaccessrequest.auth.TokenManager;
+import com.logansaso.signaccessrequest.client.AppUserDirectory;
 import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.client.OutboundQueue;
+import com.logansaso.signaccessrequest.client.RequestHistory;
+import com.logansaso.signaccessrequest.client.ResolutionSnapshot;
+import com.logansaso.signaccessrequest.client.StartupPrewarm;
+import com.logansaso.signaccessrequest.client.TrafficCapture;
+import com.logansaso.signaccessrequest.client.TrafficReplay;
 import com.logansaso.signaccessrequest.command.C1CommandExecutor;
+import com.logansaso.signaccessrequest.listener.PlayerSessionListener;
 import com.logansaso.signaccessrequest.listener.SignBreakListener;
 import com.logansaso.signaccessrequest.listener.SignChangeListener;
+import com.logansaso.signaccessrequest.listener.SignIndexListener;
 import com.logansaso.signaccessrequest.listener.SignInteractListener;
+import com.logansaso.signaccessrequest.sign.SignData;
+import com.logansaso.signaccessrequest.sign.SignIndex;
+import com.logansaso.signaccessrequest.sign.SignStatusOverlay;
+import com.logansaso.signaccessrequest.util.SharedMemoryCache;
+import com.logansaso.signaccessrequest.util.SignValidator;
+import com.logansaso.signaccessrequest.util.TaskScheduler;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public class SignAccessRequestPlugin extends JavaPlugin {
 
-    private TokenManager tokenManager;
-    private C1ApiClient apiClient;
-    private boolean debugMode;
+    private final ServiceRegistry services = new ServiceRegistry();
+    private final TaskScheduler taskScheduler = new TaskScheduler(this);
+    private final List<TaskScheduler.Task> tenantTasks = new ArrayList<>();
+    private OutboundQueue outboundQueue;
+    private TaskScheduler.Task queueDrainTask;
+    private final SignIndex signIndex = new SignIndex();
+    private SharedMemoryCache sharedCache;
+    private ResolutionSnapshot resolutionSnapshot;
+    private TaskScheduler.Task snapshotTask;
+    private AppUserDirectory appUserDirectory;
+    private TaskScheduler.Task appUserSaveTask;
+    private RequestHistory requestHistory;
+    private TaskScheduler.Task historySaveTask;
+    private TrafficCapture trafficCapture;
+    private final TrafficReplay trafficReplay = new TrafficReplay(this);
+    private final StartupPrewarm startupPrewarm = new StartupPrewarm(this);
+    private SignData signData;
+    private volatile SignStatusOverlay statusOverlay;
+    private TaskScheduler.Task statusOverlayTask;
+    private volatile boolean debugMode;
+    private volatile FileConfiguration config;
+    private CompletableFuture<ServiceRegistry.Snapshot> reloadChain = CompletableFuture.completedFuture(null);
 
     @Override
     public void onEnable() {
+        long enableStart = System.nanoTime();
+
         // Save default config
         saveDefaultConfig();
 
+        // Requests queued during an outage survive restarts
+        if (getConfig().getBoolean("queue.enabled", true)) {
+            outboundQueue = new OutboundQueue(this, new File(getDataFolder(), "outbound-queue.json"));
+            outboundQueue.load();
+        }
+
+        // Resolutions can be shared with other servers on this host through a memory-mapped file
+        if (getConfig().getBoolean("shared-cache.enabled", false)) {
+            File directory = new File(getConfig().getString("shared-cache.directory", "/dev/shm/signaccessrequest"));
+            try {
+                sharedCache = SharedMemoryCache.open(new File(directory, "resolution-cache.bin"),
+                                                     getConfig().getInt("shared-cache.slots", 16384));
+                getLogger().info("Using shared resolution cache in " + directory + " (" + sharedCache.getSlotCount() + " slots)");
+            } catch (IOException e) {
+                getLogger().warning("Failed to open the shared resolution cache, continuing without it: " + e.getMessage());
+            }
+        }
+
+        // Record outbound traffic for replay, before any client or token manager is built
+        if (getConfig().getBoolean("capture.enabled", false)) {
+            File directory = new File(getDataFolder(), "captures");
+            directory.mkdirs();
+            String name = "traffic-" + new java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.util.Date()) + ".jsonl";
+            trafficCapture = new TrafficCapture(this, new File(directory, name), getConfig().getBoolean("capture.include-bodies", true));
+            getLogger().info("Capturing ConductorOne traffic to captures/" + name);
+        }
+
+        // Players matched to app users before are looked up by UUID instead of searched by name
+        if (getConfig().getBoolean("requests.remember-app-users", true)) {
+            appUserDirectory = new AppUserDirectory(this, new File(getDataFolder(), "app-users.json"));
+            appUserDirectory.load();
+            appUserSaveTask = taskScheduler.runAsyncTimer(appUserDirectory::saveIfDirty, 60 * 20L, 60 * 20L);
+        }
+
+        // Players can look up their past requests with /c1history without calling the API
+        if (getConfig().getBoolean("history.enabled", true)) {
+            requestHistory = new RequestHistory(this, new File(getDataFolder(), "request-history.json"),
+                                                getConfig().getInt("history.max-per-player", 20));
+            requestHistory.load();
+            historySaveTask = taskScheduler.runAsyncTimer(requestHistory::saveIfDirty, 60 * 20L, 60 * 20L);
+        }
+
         // Initialize authentication and API client
         try {
-            initializeServices();
+            debugMode = getConfig().getBoolean("debug.enabled", false);
+            ServiceRegistry.Snapshot published = services.publish(buildServices(getConfig(), null));
+            startBackgroundTasks();
+
+            // Come up warm: restore the resolutions cached before the last shutdown in the background
+            if (getConfig().getBoolean("snapshot.enabled", true)) {
+                resolutionSnapshot = new ResolutionSnapshot(this, new File(getDataFolder(), "resolution-cache.snapshot"));
+                CompletableFuture.runAsync(() -> resolutionSnapshot.load(published));
+                long intervalTicks = Math.max(30, getConfig().getLong("snapshot.interval-seconds", 300)) * 20L;
+                snapshotTask = taskScheduler.runAsyncTimer(() -> resolutionSnapshot.save(services.current()), intervalTicks, intervalTicks);
+            }
         } catch (IllegalArgumentException e) {
             getLogger().severe("Failed to initialize plugin: " + e.getMessage());
             getLogger().severe("Please check your config.yml configuration");
@@ -30,99 +136,419 @@ public class SignAccessRequestPlugin extends JavaPlugin {
         }
 
         // Register event listeners
+        signData = new SignData(this);
         registerListeners();
 
+        // Warm every tenant in the background; queued behind the chunk indexing above so sign aliases are known
+        if (getConfig().getBoolean("startup.prewarm", true)) {
+            taskScheduler.runGlobal(() -> startupPrewarm.start(services.current()));
+        }
+
         // Register commands
         registerCommands();
 
-        getLogger().info("SignAccessRequest plugin enabled successfully!");
+        getLogger().info("SignAccessRequest plugin enabled successfully in " + (System.nanoTime() - enableStart) / 1_000_000L + " ms!");
     }
 
     @Override
     public void onDisable() {
+        stopBackgroundTasks();
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+            snapshotTask = null;
+        }
+        if (resolutionSnapshot != null && services.current() != null) {
+            resolutionSnapshot.save(services.current());
+        }
+        if (appUserSaveTask != null) {
+            appUserSaveTask.cancel();
+            appUserSaveTask = null;
+        }
+        if (appUserDirectory != null) {
+            appUserDirectory.saveIfDirty();
+        }
+        if (historySaveTask != null) {
+            historySaveTask.cancel();
+            historySaveTask = null;
+        }
+        if (requestHistory != null) {
+            requestHistory.saveIfDirty();
+        }
+        if (trafficCapture != null) {
+            trafficCapture.close();
+            trafficCapture = null;
+        }
+        if (services.current() != null) {
+            for (C1ApiClient apiClient : services.current().getApiClients()) {
+                apiClient.shutdown();
+            }
+        }
         getLogger().info("SignAccessRequest plugin disabled");
     }
 
-    public void reloadPluginConfig() {
-        reloadConfig();
-        debugMode = getConfig().getBoolean("debug.enabled", false);
+    /**
+     * The configuration the current services were built from. A reload only swaps its configuration in once the
+     * services built from it are published.
+     */
+    @Override
+    public FileConfiguration getConfig() {
+        FileConfiguration reloaded = config;
+        return reloaded != null ? reloaded : super.getConfig();
+    }
+
+    /**
+     * Reloads the configuration and rebuilds the services off the main thread, then applies both on the global thread.
+     * An invalid configuration leaves the running configuration, debug flag and services untouched.
+     * Each tenant's token manager is kept when its authentication settings are unchanged, and its caches
+     * carry over when its base URL is unchanged. Requests already in flight finish on the previous services.
+     *
+     * @return A future completing with the newly published snapshot
+     */
+    public synchronized CompletableFuture<ServiceRegistry.Snapshot> reloadPluginConfig() {
+        // Reloads run one after another, so each one builds on the services the previous one published
+        CompletableFuture<ServiceRegistry.Snapshot> reload = reloadChain
+            .handle((snapshot, error) -> null)
+            .thenCompose(ignored -> CompletableFuture.supplyAsync(() -> {
+                FileConfiguration loaded;
+                Map<String, C1ApiClient> apiClients;
+                try {
+                    loaded = loadConfigFile();
+                    apiClients = buildServices(loaded, services.current());
+                } catch (IllegalArgumentException e) {
+                    getLogger().severe("Failed to reload configuration: " + e.getMessage());
+                    throw e;
+                }
+                return applyReload(loaded, apiClients);
+            }))
+            .thenCompose(applied -> applied);
+        reloadChain = reload;
+        return reload;
+    }
 
-        // Reinitialize services with new config
+    /**
+     * Reads config.yml into a fresh configuration with the bundled defaults beneath it, leaving the live one alone
+     */
+    private FileConfiguration loadConfigFile() {
+        YamlConfiguration loaded = new YamlConfiguration();
         try {
-            initializeServices();
-            getLogger().info("Configuration reloaded successfully!");
-        } catch (IllegalArgumentException e) {
-            getLogger().severe("Failed to reload configuration: " + e.getMessage());
-            throw e;
+            loaded.load(new File(getDataFolder(), "config.yml"));
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new IllegalArgumentException("config.yml could not be read: " + e.getMessage(), e);
+        }
+        InputStream defaults = getResource("config.yml");
+        if (defaults != null) {
+            try (Reader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                loaded.setDefaults(YamlConfiguration.loadConfiguration(reader));
+            } catch (IOException e) {
+                getLogger().warning("Failed to read the bundled config.yml defaults: " + e.getMessage());
+            }
         }
+        return loaded;
     }
 
-    private void initializeServices() {
-        String baseUrl = getConfig().getString("conductorone.base-url");
-        String clientId = getConfig().getString("conductorone.client-id");
-        String clientSecret = getConfig().getString("conductorone.client-secret");
-        String tokenEndpoint = getConfig().getString("conductorone.token-endpoint");
-        String grantTaskEndpoint = getConfig().getString("conductorone.grant-task-endpoint");
-        String revokeTaskEndpoint = getConfig().getString("conductorone.revoke-task-endpoint");
-        debugMode = getConfig().getBoolean("debug.enabled", false);
+    /**
+     * Swaps in a reloaded configuration and the services built from it, and restarts the background work, on the global thread
+     */
+    private CompletableFuture<ServiceRegistry.Snapshot> applyReload(FileConfiguration loaded, Map<String, C1ApiClient> apiClients) {
+        CompletableFuture<ServiceRegistry.Snapshot> applied = new CompletableFuture<>();
+        taskScheduler.runGlobal(() -> {
+            try {
+                config = loaded;
+                debugMode = loaded.getBoolean("debug.enabled", false);
+
+                ServiceRegistry.Snapshot previous = services.current();
+                ServiceRegistry.Snapshot next = services.publish(apiClients);
+                stopBackgroundTasks();
+                startBackgroundTasks();
+                // Requests still holding the previous clients finish on them before they shut down
+                if (previous != null) {
+                    for (C1ApiClient apiClient : previous.getApiClients()) {
+                        apiClient.retire();
+                    }
+                }
+
+                if (loaded.getBoolean("startup.prewarm", true)) {
+                    startupPrewarm.start(next);
+                }
+
+                getLogger().info("Configuration reloaded successfully! (services version " + next.getVersion() + ")");
+                applied.complete(next);
+            } catch (RuntimeException e) {
+                applied.completeExceptionally(e);
+            }
+        });
+        return applied;
+    }
+
+    /**
+     * Builds an API client for the default tenant from the conductorone section and one for each entry under tenants
+     *
+     * @return Tenant name -> client, the default tenant first
+     */
+    private Map<String, C1ApiClient> buildServices(FileConfiguration config, ServiceRegistry.Snapshot previous) {
+        ConfigurationSection defaults = config.getConfigurationSection("conductorone");
+        if (defaults == null) {
+            throw new IllegalArgumentException("conductorone section is missing");
+        }
+
+        Map<String, C1ApiClient> apiClients = new LinkedHashMap<>();
+        apiClients.put(SignValidator.DEFAULT_TENANT, buildTenant(SignValidator.DEFAULT_TENANT, defaults, defaults, config, previous));
+
+        ConfigurationSection tenants = config.getConfigurationSection("tenants");
+        if (tenants != null) {
+            for (String tenant : tenants.getKeys(false)) {
+                if (tenant.equals(SignValidator.DEFAULT_TENANT) || !tenant.matches("[a-z0-9_-]+")) {
+                    throw new IllegalArgumentException("tenants." + tenant + ": tenant names must be lowercase letters, digits, '-' or '_', and not 'default'");
+                }
+                ConfigurationSection section = tenants.getConfigurationSection(tenant);
+                if (section == null) {
+                    throw new IllegalArgumentException("tenants." + tenant + " must be a section");
+                }
+                apiClients.put(tenant, buildTenant(tenant, section, defaults, config, previous));
+            }
+        }
+        return apiClients;
+    }
+
+    /**
+     * Builds one tenant's token manager and API client. Endpoints a tenant section leaves out fall back to the conductorone section.
+     */
+    private C1ApiClient buildTenant(String tenant, ConfigurationSection section, ConfigurationSection defaults,
+                                    FileConfiguration config, ServiceRegistry.Snapshot previous) {
+        String path = section.getCurrentPath();
+        String baseUrl = section.getString("base-url");
+        String clientId = section.getString("client-id");
+        String clientSecret = section.getString("client-secret");
+        String tokenEndpoint = section.getString("token-endpoint", defaults.getString("token-endpoint"));
+        String grantTaskEndpoint = section.getString("grant-task-endpoint", defaults.getString("grant-task-endpoint"));
+        String revokeTaskEndpoint = section.getString("revoke-task-endpoint", defaults.getString("revoke-task-endpoint"));
+        int maxConcurrentRequests = section.getInt("max-concurrent-requests", 16);
 
         // Debug log the loaded values (mask sensitive data)
-        getLogger().info("Loading configuration:");
+        getLogger().info("Loading configuration for tenant '" + tenant + "':");
         getLogger().info("  base-url: " + baseUrl);
         getLogger().info("  client-id length: " + (clientId != null ? clientId.length() : "null") + " characters");
         getLogger().info("  client-secret length: " + (clientSecret != null ? clientSecret.length() : "null") + " characters");
         getLogger().info("  token-endpoint: " + tokenEndpoint);
         getLogger().info("  grant-task-endpoint: " + grantTaskEndpoint);
         getLogger().info("  revoke-task-endpoint: " + revokeTaskEndpoint);
+        getLogger().info("  max-concurrent-requests: " + maxConcurrentRequests);
 
         // Validate configuration
         if (baseUrl == null || baseUrl.isEmpty() || baseUrl.equals("https://your-tenant.conductor.one")) {
-            throw new IllegalArgumentException("conductorone.base-url is not configured");
+            throw new IllegalArgumentException(path + ".base-url is not configured");
         }
         if (clientId == null || clientId.isEmpty() || clientId.equals("your-client-id-here")) {
-            throw new IllegalArgumentException("conductorone.client-id is not configured");
+            throw new IllegalArgumentException(path + ".client-id is not configured");
         }
         if (clientSecret == null || clientSecret.isEmpty() || clientSecret.equals("your-client-secret-here")) {
-            throw new IllegalArgumentException("conductorone.client-secret is not configured");
+            throw new IllegalArgumentException(path + ".client-secret is not configured");
         }
 
-        // Initialize token manager
-        tokenManager = new TokenManager(
-            baseUrl,
-            clientId,
-            clientSecret,
-            tokenEndpoint,
-            this
-        );
+        C1ApiClient previousClient = previous != null ? previous.getApiClient(tenant) : null;
+
+        // Keep the token manager (and its cached token) when the authentication settings are unchanged
+        TokenManager tokenManager;
+        if (previousClient != null && previousClient.getTokenManager().hasSameSettings(baseUrl, clientId, clientSecret, tokenEndpoint)) {
+            tokenManager = previousClient.getTokenManager();
+            getLogger().info("Authentication settings for tenant '" + tenant + "' unchanged, keeping the cached access token");
+        } else {
+            tokenManager = new TokenManager(
+                baseUrl,
+                clientId,
+                clientSecret,
+                tokenEndpoint,
+                this
+            );
+        }
 
         // Initialize API client
-        apiClient = new C1ApiClient(
+        C1ApiClient apiClient = new C1ApiClient(
+            tenant,
             baseUrl,
             grantTaskEndpoint,
             revokeTaskEndpoint,
             tokenManager,
+            maxConcurrentRequests,
+            config,
             this
         );
+
+        // Carry caches over when still talking to the same tenant
+        if (previousClient != null && previousClient.getBaseUrl().equals(apiClient.getBaseUrl())) {
+            apiClient.inheritStateFrom(previousClient);
+        }
+
+        return apiClient;
+    }
+
+    /**
+     * Starts the background work for the current services
+     */
+    private void startBackgroundTasks() {
+        ServiceRegistry.Snapshot current = services.current();
+
+        for (C1ApiClient apiClient : current.getApiClients()) {
+            // Keep the local entitlement catalog mirror in sync in the background
+            if (apiClient.getCatalog() != null) {
+                long refreshTicks = Math.max(60, getConfig().getLong("catalog.refresh-interval-seconds", 600)) * 20L;
+                // A catalog carried over from before a reload does not need an immediate sync
+                long initialDelay = apiClient.getCatalog().isLoaded() ? refreshTicks : 0L;
+                tenantTasks.add(taskScheduler.runAsyncTimer(apiClient.getCatalog()::refresh, initialDelay, refreshTicks));
+            }
+
+            // Tail the grant feed to keep online players' grants current
+            if (apiClient.getGrantTracker() != null) {
+                long pollTicks = Math.max(5, getConfig().getLong("grant-feed.poll-interval-seconds", 30)) * 20L;
+                tenantTasks.add(taskScheduler.runAsyncTimer(apiClient.getGrantTracker()::poll, pollTicks, pollTicks));
+            }
+        }
+
+        // Replay requests queued during an outage once their tenant is healthy again
+        if (outboundQueue != null) {
+            long drainTicks = Math.max(1, getConfig().getLong("queue.drain-interval-seconds", 15)) * 20L;
+            int drainBatchSize = Math.max(1, getConfig().getInt("queue.drain-batch-size", 10));
+            queueDrainTask = taskScheduler.runAsyncTimer(() -> outboundQueue.drain(current, drainBatchSize), drainTicks, drainTicks);
+        }
+
+        // Render per-player access status onto nearby signs from local state
+        if (getConfig().getBoolean("status-overlay.enabled", true)) {
+            SignStatusOverlay overlay = new SignStatusOverlay(this, signIndex);
+            statusOverlayTask = taskScheduler.runGlobalTimer(overlay::tick, 1L, 1L);
+            statusOverlay = overlay;
+        }
+    }
+
+    private void stopBackgroundTasks() {
+        for (TaskScheduler.Task task : tenantTasks) {
+            task.cancel();
+        }
+        tenantTasks.clear();
+        if (queueDrainTask != null) {
+            queueDrainTask.cancel();
+            queueDrainTask = null;
+        }
+        if (statusOverlayTask != null) {
+            statusOverlayTask.cancel();
+            statusOverlayTask = null;
+            statusOverlay = null;
+        }
     }
 
     private void registerListeners() {
-        getServer().getPluginManager().registerEvents(new SignChangeListener(this), this);
-        getServer().getPluginManager().registerEvents(new SignInteractListener(apiClient, this), this);
+        SignChangeListener signChangeListener = new SignChangeListener(this);
+        getServer().getPluginManager().registerEvents(signChangeListener, this);
+        getServer().getPluginManager().registerEvents(new SignInteractListener(this, signChangeListener), this);
         getServer().getPluginManager().registerEvents(new SignBreakListener(this), this);
+        getServer().getPluginManager().registerEvents(new PlayerSessionListener(this), this);
+        getServer().getPluginManager().registerEvents(new SignIndexListener(signIndex), this);
+
+        // Index signs in chunks that were loaded before the listener was registered, each on its owning region
+        for (World world : getServer().getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                taskScheduler.runAtChunk(world, chunk.getX(), chunk.getZ(), () -> signIndex.indexChunk(chunk));
+            }
+        }
     }
 
     private void registerCommands() {
         C1CommandExecutor commandExecutor = new C1CommandExecutor(this);
         getCommand("c1reload").setExecutor(commandExecutor);
         getCommand("c1debug").setExecutor(commandExecutor);
+        getCommand("c1bulk").setExecutor(commandExecutor);
+        getCommand("c1cache").setExecutor(commandExecutor);
+        getCommand("c1scan").setExecutor(commandExecutor);
+        getCommand("c1status").setExecutor(commandExecutor);
+        getCommand("c1replay").setExecutor(commandExecutor);
+        getCommand("c1history").setExecutor(commandExecutor);
     }
 
+    /**
+     * The token manager of the default tenant
+     */
     public TokenManager getTokenManager() {
-        return tokenManager;
+        return services.current().getTokenManager();
     }
 
+    /**
+     * The default tenant's API client in the currently published services.
+     * Callers doing multi-step work should capture it once so the whole operation uses one version.
+     */
     public C1ApiClient getApiClient() {
-        return apiClient;
+        return services.current().getApiClient();
+    }
+
+    /**
+     * The API client for a named tenant in the currently published services, or null if the tenant is not configured
+     */
+    public C1ApiClient getApiClient(String tenant) {
+        return services.current().getApiClient(tenant);
+    }
+
+    public ServiceRegistry getServices() {
+        return services;
+    }
+
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    public SignIndex getSignIndex() {
+        return signIndex;
+    }
+
+    /**
+     * The outbound request queue, or null if degraded mode is disabled
+     */
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+
+    /**
+     * The cache shared with other servers on this host, or null if it is disabled
+     */
+    public SharedMemoryCache getSharedCache() {
+        return sharedCache;
+    }
+
+    /**
+     * The player UUID to app user mappings, or null if they are not remembered
+     */
+    public AppUserDirectory getAppUserDirectory() {
+        return appUserDirectory;
+    }
+
+    /**
+     * The per-player request history, or null if it is disabled
+     */
+    public RequestHistory getRequestHistory() {
+        return requestHistory;
+    }
+
+    /**
+     * The running traffic capture, or null if capture is disabled
+     */
+    public TrafficCapture getTrafficCapture() {
+        return trafficCapture;
+    }
+
+    public TrafficReplay getTrafficReplay() {
+        return trafficReplay;
+    }
+
+    public StartupPrewarm getStartupPrewarm() {
+        return startupPrewarm;
+    }
+
+    public SignData getSignData() {
+        return signData;
+    }
+
+    /**
+     * The sign status overlay, or null if it is disabled
+     */
+    public SignStatusOverlay getStatusOverlay() {
+        return statusOverlay;
     }
 
     public boolean isDebugMode() {
@@ -0,0 +1,35 @@
+package com.logansaso.signaccessrequest.auth;
+
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.crypto.signers.Ed25519Signer;
+
+/**
+ * Ed25519 signer on BouncyCastle, for runtimes whose JDK has no EdDSA provider.
+ * BouncyCastle is only on the classpath when the plugin is built with -PbundleBouncyCastle.
+ */
+final class BouncyCastleEd25519Signer implements JwtSigner {
+
+    private final Ed25519PrivateKeyParameters privateKey;
+
+    BouncyCastleEd25519Signer(byte[] rawPrivateKey) {
+        this.privateKey = new Ed25519PrivateKeyParameters(rawPrivateKey, 0);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "EdDSA";
+    }
+
+    @Override
+    public String getName() {
+        return "BouncyCastle Ed25519";
+    }
+
+    @Override
+    public byte[] sign(byte[] message) {
+        Ed25519Signer signer = new Ed25519Signer();
+        signer.init(true, privateKey);
+        signer.update(message, 0, message.length);
+        return signer.generateSignature();
+    }
+}
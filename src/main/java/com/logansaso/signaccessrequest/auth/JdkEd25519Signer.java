@@ -0,0 +1,50 @@
+package com.logansaso.signaccessrequest.auth;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.HexFormat;
+
+/**
+ * Ed25519 signer on the JDK's built-in EdDSA provider (JDK 15+), so no crypto library has to be bundled
+ */
+final class JdkEd25519Signer implements JwtSigner {
+
+    // PKCS#8 PrivateKeyInfo header for an Ed25519 key (OID 1.3.101.112), followed by the 32-byte private key
+    private static final byte[] PKCS8_PREFIX = HexFormat.of().parseHex("302e020100300506032b657004220420");
+    private static final int KEY_LENGTH = 32;
+
+    private final PrivateKey privateKey;
+
+    JdkEd25519Signer(byte[] rawPrivateKey) throws GeneralSecurityException {
+        if (rawPrivateKey.length != KEY_LENGTH) {
+            throw new InvalidKeyException("Ed25519 private keys are " + KEY_LENGTH + " bytes, got " + rawPrivateKey.length);
+        }
+        byte[] encoded = new byte[PKCS8_PREFIX.length + KEY_LENGTH];
+        System.arraycopy(PKCS8_PREFIX, 0, encoded, 0, PKCS8_PREFIX.length);
+        System.arraycopy(rawPrivateKey, 0, encoded, PKCS8_PREFIX.length, KEY_LENGTH);
+        this.privateKey = KeyFactory.getInstance("Ed25519").generatePrivate(new PKCS8EncodedKeySpec(encoded));
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "EdDSA";
+    }
+
+    @Override
+    public String getName() {
+        return "JDK Ed25519";
+    }
+
+    @Override
+    public byte[] sign(byte[] message) throws GeneralSecurityException {
+        // Signature instances are not thread-safe and cheap to create
+        Signature signature = Signature.getInstance("Ed25519");
+        signature.initSign(privateKey);
+        signature.update(message);
+        return signature.sign();
+    }
+}
@@ -0,0 +1,64 @@
+package com.logansaso.signaccessrequest.auth;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Signs the client assertion JWT. Backends are picked by {@link #ed25519(byte[], String)}.
+ */
+public interface JwtSigner {
+
+    /**
+     * The JWS "alg" header value for the signatures this signer makes
+     */
+    String getAlgorithm();
+
+    /**
+     * A short name of the backend, for logs
+     */
+    String getName();
+
+    byte[] sign(byte[] message) throws GeneralSecurityException;
+
+    /**
+     * Creates an Ed25519 signer for a raw 32-byte private key
+     *
+     * @param backend "jdk" for the JDK's own EdDSA, "bouncycastle" for BouncyCastle, or "auto" to use the JDK
+     *                and fall back to BouncyCastle only if the JDK has no EdDSA and BouncyCastle is on the classpath
+     */
+    static JwtSigner ed25519(byte[] privateKey, String backend) throws GeneralSecurityException {
+        switch (backend == null ? "auto" : backend.toLowerCase(java.util.Locale.ROOT)) {
+            case "jdk":
+                return new JdkEd25519Signer(privateKey);
+            case "bouncycastle":
+                if (!isBouncyCastleAvailable()) {
+                    throw new NoSuchAlgorithmException("BouncyCastle is not on the classpath; build with -PbundleBouncyCastle");
+                }
+                return new BouncyCastleEd25519Signer(privateKey);
+            case "auto":
+                try {
+                    return new JdkEd25519Signer(privateKey);
+                } catch (NoSuchAlgorithmException e) {
+                    if (isBouncyCastleAvailable()) {
+                        return new BouncyCastleEd25519Signer(privateKey);
+                    }
+                    throw e;
+                }
+            default:
+                throw new IllegalArgumentException("Unknown JWT signer '" + backend + "', expected auto, jdk or bouncycastle");
+        }
+    }
+
+    /**
+     * Whether BouncyCastle can be loaded. Checked here rather than in the BouncyCastle signer,
+     * since linking that class already needs BouncyCastle.
+     */
+    private static boolean isBouncyCastleAvailable() {
+        try {
+            Class.forName("org.bouncycastle.crypto.signers.Ed25519Signer", false, JwtSigner.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
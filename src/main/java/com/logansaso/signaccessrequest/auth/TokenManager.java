@@ -3,8 +3,8 @@ package com.logansaso.signaccessrequest.auth;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
-import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
-import org.bouncycastle.crypto.signers.Ed25519Signer;
+import com.logansaso.signaccessrequest.client.TrafficCapture;
+import com.logansaso.signaccessrequest.jfr.TokenFetchEvent;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -24,6 +24,7 @@ public class TokenManager {
 
     private String accessToken;
     private long tokenExpiresAt;
+    private volatile JwtSigner signer;
 
     public TokenManager(String baseUrl, String clientId, String clientSecret, String tokenEndpoint, SignAccessRequestPlugin plugin) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
@@ -46,6 +47,17 @@ public class TokenManager {
         this.tokenExpiresAt = 0;
     }
 
+    /**
+     * Whether this token manager was built from the given settings, so it can be kept across a reload
+     */
+    public boolean hasSameSettings(String baseUrl, String clientId, String clientSecret, String tokenEndpoint) {
+        String normalizedBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return this.baseUrl.equals(normalizedBaseUrl)
+            && this.clientId.equals(clientId)
+            && this.clientSecret.equals(clientSecret)
+            && java.util.Objects.equals(this.tokenEndpoint, tokenEndpoint);
+    }
+
     /**
      * Gets a valid access token, refreshing if necessary
      */
@@ -103,9 +115,11 @@ public class TokenManager {
         long expiry = now + 120; // 2 minutes from now
         long notBefore = now - 120; // 2 minutes ago
 
+        JwtSigner jwtSigner = getSigner();
+
         // Build JWT header
         JsonObject header = new JsonObject();
-        header.addProperty("alg", "EdDSA");
+        header.addProperty("alg", jwtSigner.getAlgorithm());
         header.addProperty("typ", "JWT");
 
         // Build JWT claims
@@ -124,15 +138,8 @@ public class TokenManager {
         // Create signing input
         String signingInput = headerEncoded + "." + claimsEncoded;
 
-        // Parse private key and sign
-        byte[] privateKeyBytes = parseClientSecret();
-        Ed25519PrivateKeyParameters privateKey = new Ed25519PrivateKeyParameters(privateKeyBytes, 0);
-
-        Ed25519Signer signer = new Ed25519Signer();
-        signer.init(true, privateKey);
-        byte[] message = signingInput.getBytes(StandardCharsets.UTF_8);
-        signer.update(message, 0, message.length);
-        byte[] signature = signer.generateSignature();
+        // Sign
+        byte[] signature = jwtSigner.sign(signingInput.getBytes(StandardCharsets.UTF_8));
 
         // Encode signature
         String signatureEncoded = base64UrlEncode(signature);
@@ -141,6 +148,23 @@ public class TokenManager {
         return signingInput + "." + signatureEncoded;
     }
 
+    /**
+     * Gets the signer for the client secret's key, parsing the secret on first use
+     */
+    private JwtSigner getSigner() throws Exception {
+        JwtSigner current = signer;
+        if (current == null) {
+            long start = System.nanoTime();
+            current = JwtSigner.ed25519(parseClientSecret(), plugin.getConfig().getString("conductorone.jwt-signer", "auto"));
+            signer = current;
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] Signing client assertions with " + current.getName() + " (set up in " +
+                                        (System.nanoTime() - start) / 1000 + " µs)");
+            }
+        }
+        return current;
+    }
+
     /**
      * Base64 URL-safe encoding without padding
      */
@@ -150,11 +174,17 @@ public class TokenManager {
 
     private CompletableFuture<String> fetchNewToken() {
         return CompletableFuture.supplyAsync(() -> {
+            TokenFetchEvent event = new TokenFetchEvent();
+            event.begin();
+            long started = System.nanoTime();
+            String requestBody = null;
+            String response = null;
             try {
                 // Create signed JWT for client assertion
                 String clientAssertion = createClientAssertion();
 
                 String tokenUrl = baseUrl + "/" + tokenEndpoint;
+                event.endpoint = "/" + tokenEndpoint;
                 URL url = new URL(tokenUrl);
                 HttpURLConnection conn = (HttpURLConnection) url.openConnection();
 
@@ -164,7 +194,7 @@ public class TokenManager {
                 conn.setDoOutput(true);
 
                 // Send request body with JWT client assertion (ConductorOne OAuth2 flow)
-                String requestBody = "grant_type=client_credentials"
+                requestBody = "grant_type=client_credentials"
                     + "&client_id=" + java.net.URLEncoder.encode(clientId, StandardCharsets.UTF_8)
                     + "&client_assertion_type=" + java.net.URLEncoder.encode("urn:ietf:params:oauth:client-assertion-type:jwt-bearer", StandardCharsets.UTF_8)
                     + "&client_assertion=" + java.net.URLEncoder.encode(clientAssertion, StandardCharsets.UTF_8);
@@ -179,9 +209,11 @@ public class TokenManager {
                 try (OutputStream os = conn.getOutputStream()) {
                     byte[] input = requestBody.getBytes(StandardCharsets.UTF_8);
                     os.write(input, 0, input.length);
+                    event.requestBytes = input.length;
                 }
 
                 int responseCode = conn.getResponseCode();
+                event.statusCode = responseCode;
 
                 if (plugin.isDebugMode()) {
                     plugin.getLogger().info("[DEBUG] Token Response Code: " + responseCode);
@@ -189,6 +221,7 @@ public class TokenManager {
 
                 if (responseCode != 200) {
                     String errorMsg = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+                    response = errorMsg;
                     if (plugin.isDebugMode()) {
                         plugin.getLogger().warning("[DEBUG] Token Error Response: " + errorMsg);
                     }
@@ -196,7 +229,9 @@ public class TokenManager {
                 }
 
                 // Read response
-                String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                byte[] responseBytes = conn.getInputStream().readAllBytes();
+                event.responseBytes = responseBytes.length;
+                response = new String(responseBytes, StandardCharsets.UTF_8);
 
                 if (plugin.isDebugMode()) {
                     // Mask the token in debug output for security
@@ -219,6 +254,13 @@ public class TokenManager {
             } catch (Exception e) {
                 plugin.getLogger().severe("Failed to fetch access token: " + e.getMessage());
                 throw new RuntimeException("Failed to fetch access token", e);
+            } finally {
+                event.commit();
+                TrafficCapture capture = plugin.getTrafficCapture();
+                if (capture != null) {
+                    capture.record(null, "POST", "/" + tokenEndpoint, null, event.statusCode, started, System.nanoTime() - started,
+                                   requestBody, event.requestBytes, response, event.responseBytes);
+                }
             }
         });
     }
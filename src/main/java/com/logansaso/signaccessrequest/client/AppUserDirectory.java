@@ -0,0 +1,120 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent mapping of Minecraft player UUID -> app ID -> app user ID, learned from verified username matches.
+ * Keyed by UUID so it survives name changes, and looked up in constant time, so the app user search
+ * only runs the first time a player requests access in an app. Changes are written to disk off the
+ * main thread by {@link #saveIfDirty()}.
+ */
+public class AppUserDirectory {
+
+    private final SignAccessRequestPlugin plugin;
+    private final File file;
+    private final Gson gson = new Gson();
+    private final Map<UUID, Map<String, String>> appUsers = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public AppUserDirectory(SignAccessRequestPlugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    /**
+     * Loads the mappings saved by a previous run
+     */
+    public void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Map<String, Map<String, String>> loaded = gson.fromJson(reader, new TypeToken<Map<String, Map<String, String>>>() { }.getType());
+            if (loaded != null) {
+                loaded.forEach((playerUuid, apps) -> appUsers.put(UUID.fromString(playerUuid), new ConcurrentHashMap<>(apps)));
+            }
+            if (!appUsers.isEmpty()) {
+                plugin.getLogger().info("Loaded app user mappings for " + appUsers.size() + " player(s)");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load the app user mappings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the app user a player is known to be in an app, or null if the player has never been matched there
+     */
+    public String get(UUID playerUuid, String appId) {
+        Map<String, String> apps = appUsers.get(playerUuid);
+        return apps != null ? apps.get(appId) : null;
+    }
+
+    /**
+     * Remembers a verified match between a player and an app user
+     */
+    public void record(UUID playerUuid, String appId, String appUserId) {
+        String previous = appUsers.computeIfAbsent(playerUuid, uuid -> new ConcurrentHashMap<>()).put(appId, appUserId);
+        if (!appUserId.equals(previous)) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Forgets every mapping of a player, so their next request searches again
+     *
+     * @return The number of mappings removed
+     */
+    public int forget(UUID playerUuid) {
+        Map<String, String> removed = appUsers.remove(playerUuid);
+        if (removed == null) {
+            return 0;
+        }
+        dirty.set(true);
+        return removed.size();
+    }
+
+    public int size() {
+        return appUsers.size();
+    }
+
+    /**
+     * Writes the mappings if they changed since the last save. Blocks on disk, so call it off the main thread.
+     */
+    public synchronized void saveIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        Map<String, Map<String, String>> snapshot = new HashMap<>();
+        appUsers.forEach((playerUuid, apps) -> snapshot.put(playerUuid.toString(), new HashMap<>(apps)));
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            File temp = new File(file.getPath() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            plugin.getLogger().warning("Failed to save the app user mappings: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.logansaso.signaccessrequest.util.TtlCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batching loader in the style of DataLoader.
+ * Lookups requested within a short window are collected and resolved together by one batch call,
+ * identical keys share a single pending future, and resolved values are kept in a TTL cache.
+ * A key missing from the batch result resolves to null and is not cached. A batch function that fails only
+ * some keys throws {@link PartialFailure}, so the other keys in the batch still complete with their values.
+ */
+public class BatchLoader<K, V> {
+
+    /**
+     * Resolves a batch of distinct keys. Keys that cannot be found should be left out of the result.
+     */
+    @FunctionalInterface
+    public interface BatchFunction<K, V> {
+        Map<K, V> load(List<K> keys) throws Exception;
+    }
+
+    /**
+     * Thrown by a batch function when some keys failed: those fail with their own cause, every other key
+     * completes from the results
+     */
+    public static class PartialFailure extends Exception {
+        private final Map<?, ?> results;
+        private final Map<?, ? extends Throwable> failures;
+
+        public PartialFailure(Map<?, ?> results, Map<?, ? extends Throwable> failures) {
+            super(failures.size() + " key(s) of the batch failed", failures.values().iterator().next());
+            this.results = results;
+            this.failures = failures;
+        }
+    }
+
+    private final BatchFunction<K, V> batchFunction;
+    private final TtlCache<K, V> cache;
+    private final ScheduledExecutorService timer;
+    private final Executor executor;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+    private List<K> queued = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public BatchLoader(BatchFunction<K, V> batchFunction, TtlCache<K, V> cache, ScheduledExecutorService timer,
+                       Executor executor, long windowMillis, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.cache = cache;
+        this.timer = timer;
+        this.executor = executor;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Loads a single key, from the cache when possible and otherwise as part of the next batch
+     */
+    public CompletableFuture<V> load(K key) {
+        V cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        List<K> fullBatch = null;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            future = inFlight.get(key);
+            if (future != null) {
+                return future;
+            }
+
+            future = new CompletableFuture<>();
+            inFlight.put(key, future);
+            queued.add(key);
+
+            if (queued.size() >= maxBatchSize) {
+                fullBatch = takeQueued();
+            } else if (!flushScheduled) {
+                try {
+                    timer.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                    flushScheduled = true;
+                } catch (RejectedExecutionException e) {
+                    // The timer was shut down, e.g. this client was retired by a reload: send the batch right away
+                    fullBatch = takeQueued();
+                }
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return future;
+    }
+
+    /**
+     * Loads several keys at once, batching the ones that are not cached
+     */
+    public CompletableFuture<Map<K, V>> loadAll(List<K> keys) {
+        Map<K, CompletableFuture<V>> futures = new HashMap<>();
+        for (K key : keys) {
+            futures.computeIfAbsent(key, this::load);
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<K, V> results = new HashMap<>();
+            futures.forEach((key, future) -> {
+                V value = future.join();
+                if (value != null) {
+                    results.put(key, value);
+                }
+            });
+            return results;
+        });
+    }
+
+    public TtlCache<K, V> getCache() {
+        return cache;
+    }
+
+    /**
+     * How many keys are queued or being loaded right now
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return inFlight.size();
+        }
+    }
+
+    private void flush() {
+        List<K> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            batch = takeQueued();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private List<K> takeQueued() {
+        List<K> batch = queued;
+        queued = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<K> batch) {
+        try {
+            executor.execute(() -> {
+                Map<K, V> results = null;
+                Throwable failure = null;
+                try {
+                    results = batchFunction.load(batch);
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                complete(batch, results, failure);
+            });
+        } catch (RejectedExecutionException e) {
+            // Never leave a key's future pending, or every later load of that key would wait on it forever
+            complete(batch, null, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(List<K> batch, Map<K, V> results, Throwable failure) {
+        Map<?, ? extends Throwable> keyFailures = Map.of();
+        if (failure instanceof PartialFailure) {
+            results = (Map<K, V>) ((PartialFailure) failure).results;
+            keyFailures = ((PartialFailure) failure).failures;
+            failure = null;
+        }
+
+        for (K key : batch) {
+            Throwable keyFailure = failure != null ? failure : keyFailures.get(key);
+            V value = keyFailure == null ? results.get(key) : null;
+            if (value != null) {
+                cache.put(key, value);
+            }
+
+            CompletableFuture<V> future;
+            synchronized (lock) {
+                future = inFlight.remove(key);
+            }
+            if (future == null) {
+                continue;
+            }
+
+            if (keyFailure != null) {
+                future.completeExceptionally(keyFailure);
+            } else {
+                future.complete(value);
+            }
+        }
+    }
+}
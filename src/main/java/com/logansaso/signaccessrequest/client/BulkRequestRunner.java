@@ -0,0 +1,164 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Submits the same grant or revoke request for many players at once.
+ * The entitlement is resolved once and every app user not already known is resolved up front through the shared batch loader,
+ * then tasks go through the normal request workflow with at most {@code parallelism} requests in flight.
+ * Bulk grants run in the background lane, so they never hold up players' own requests.
+ */
+public class BulkRequestRunner {
+
+    private final C1ApiClient apiClient;
+    private final SignAccessRequestPlugin plugin;
+    private final int parallelism;
+
+    public BulkRequestRunner(C1ApiClient apiClient, SignAccessRequestPlugin plugin) {
+        this.apiClient = apiClient;
+        this.plugin = plugin;
+        this.parallelism = Math.max(1, plugin.getConfig().getInt("bulk.parallelism", 8));
+    }
+
+    /**
+     * Runs a bulk request. Progress is reported roughly every tenth of the players.
+     *
+     * @return A future completing with the final summary, or failing if the alias is unknown
+     */
+    public CompletableFuture<Summary> run(List<Player> players, String alias, C1ApiClient.TaskAction action,
+                                          Consumer<Summary> progress) {
+        return apiClient.resolveEntitlement(alias).thenCompose(entitlement -> {
+            if (entitlement == null) {
+                throw new IllegalArgumentException("Entitlement '" + alias + "' not found");
+            }
+
+            // Resolve unmatched players' app users in batches so each task below resolves its app user locally
+            return apiClient.prefetchAppUsers(entitlement.getAppId(), players)
+                .thenCompose(appUsers -> submitAll(players, alias, entitlement, action, progress));
+        });
+    }
+
+    private CompletableFuture<Summary> submitAll(List<Player> players, String alias, C1ApiClient.ResolvedEntitlement entitlement,
+                                                 C1ApiClient.TaskAction action, Consumer<Summary> progress) {
+        Summary summary = new Summary(players.size());
+        CompletableFuture<Summary> done = new CompletableFuture<>();
+        if (players.isEmpty()) {
+            done.complete(summary);
+            return done;
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        int reportEvery = Math.max(1, players.size() / 10);
+        for (int i = 0; i < Math.min(parallelism, players.size()); i++) {
+            submitNext(players, next, alias, entitlement, action, summary, reportEvery, progress, done);
+        }
+        return done;
+    }
+
+    /**
+     * Submits the next pending player's request and chains the one after it onto its completion,
+     * so each of the parallel lanes always has exactly one request in flight
+     */
+    private void submitNext(List<Player> players, AtomicInteger next, String alias, C1ApiClient.ResolvedEntitlement entitlement,
+                            C1ApiClient.TaskAction action, Summary summary, int reportEvery,
+                            Consumer<Summary> progress, CompletableFuture<Summary> done) {
+        int index = next.getAndIncrement();
+        if (index >= players.size()) {
+            return;
+        }
+
+        Player player = players.get(index);
+        CompletableFuture<C1ApiClient.AccessRequestResult> request;
+        try {
+            request = apiClient.createBulkTask(player, alias, entitlement, action);
+        } catch (RuntimeException e) {
+            // Counted like any other failed request, so the bulk request still finishes
+            request = CompletableFuture.failedFuture(e);
+        }
+
+        request.whenCompleteAsync((result, error) -> {
+            int completed = summary.record(player.getName(), result, error);
+            if (completed == players.size()) {
+                plugin.getLogger().info("Bulk " + action.getName() + " of '" + alias + "' finished: " + summary.describe());
+                done.complete(summary);
+                return;
+            }
+            if (completed % reportEvery == 0) {
+                progress.accept(summary);
+            }
+            submitNext(players, next, alias, entitlement, action, summary, reportEvery, progress, done);
+        });
+    }
+
+    /**
+     * Running totals of a bulk request. Safe to read while the request is in progress.
+     */
+    public static class Summary {
+        private static final int MAX_FAILURES_KEPT = 10;
+
+        private final int total;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final AtomicInteger existing = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        private Summary(int total) {
+            this.total = total;
+        }
+
+        private int record(String playerName, C1ApiClient.AccessRequestResult result, Throwable error) {
+            if (error != null) {
+                failed.incrementAndGet();
+                addFailure(playerName + ": " + error.getMessage());
+            } else if (result.isSuccess()) {
+                submitted.incrementAndGet();
+            } else if (result.hasExistingTasks()) {
+                existing.incrementAndGet();
+            } else if (result.isQueued()) {
+                queued.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+                addFailure(playerName + ": " + result.getMessage());
+            }
+            return completed.incrementAndGet();
+        }
+
+        private void addFailure(String failure) {
+            if (failures.size() < MAX_FAILURES_KEPT) {
+                failures.add(failure);
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getCompleted() {
+            return completed.get();
+        }
+
+        /**
+         * Up to the first ten players whose request was not submitted, with the reason
+         */
+        public List<String> getFailures() {
+            synchronized (failures) {
+                return new ArrayList<>(failures);
+            }
+        }
+
+        public String describe() {
+            return submitted.get() + " submitted, " + existing.get() + " already open, " +
+                   queued.get() + " queued, " + failed.get() + " not submitted";
+        }
+    }
+}
@@ -4,30 +4,204 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
 import com.logansaso.signaccessrequest.auth.TokenManager;
+import com.logansaso.signaccessrequest.jfr.ApiCallEvent;
+import com.logansaso.signaccessrequest.jfr.SearchEvent;
+import com.logansaso.signaccessrequest.jfr.TaskCreateEvent;
+import com.logansaso.signaccessrequest.util.SharedMemoryCache;
+import com.logansaso.signaccessrequest.util.SignValidator;
+import com.logansaso.signaccessrequest.util.TtlCache;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 public class C1ApiClient {
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+    private static final long RETIRE_CHECK_MILLIS = 1000;
+    private static final long RETIRE_MAX_WAIT_MILLIS = 5 * 60 * 1000L;
+    private static final int APP_USER_SEARCH_PAGE_SIZE = 10;
+    private static final int APP_USER_SEARCH_MAX_RESULTS = 50;
+    private static final int TASK_SEARCH_PAGE_SIZE = 25;
+    private static final int TASK_SEARCH_MAX_RESULTS = 50;
+    private static final Pattern DESCRIPTION_KEY = Pattern.compile("\\(request ([0-9a-f-]{36})\\)");
+
+    private final String tenant;
     private final String baseUrl;
     private final String grantTaskEndpoint;
     private final String revokeTaskEndpoint;
     private final TokenManager tokenManager;
     private final SignAccessRequestPlugin plugin;
     private final Gson gson;
+    private final OpenTaskIndex openTaskIndex;
+    private final boolean checkExistingTasks;
+    private final int createAttempts;
+    private final long idempotencyWindowMillis;
+    private final int timeoutMillis;
+    private final int maxResponseBytes;
+    private final int maxConcurrentRequests;
+    private final RequestScheduler scheduler;
+    private final AtomicInteger activeWorkflows = new AtomicInteger();
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService batchTimer;
+    private final BatchLoader<String, ResolvedEntitlement> entitlementLoader;
+    private final BatchLoader<AppUserKey, String> appUserLoader;
+    private final long entitlementTtlMillis;
+    // Alias -> when it was last invalidated, so entitlements stored on signs before then are resolved again
+    private final Map<String, Long> aliasInvalidations = new java.util.concurrent.ConcurrentHashMap<>();
+    private volatile long cachesClearedAt;
+    private final EntitlementCatalog catalog;
+    private final GrantTracker grantTracker;
+    private final SharedMemoryCache sharedCache;
+    private final AppUserDirectory appUserDirectory;
+    private final TrafficCapture trafficCapture;
 
-    public C1ApiClient(String baseUrl, String grantTaskEndpoint, String revokeTaskEndpoint, TokenManager tokenManager, SignAccessRequestPlugin plugin) {
+    /**
+     * @param tenant The tenant this client talks to, used in thread names and messages
+     * @param maxConcurrentRequests The size of this tenant's bulkhead: how many HTTP calls may be in flight at once,
+     *                              handed out by priority with revokes first
+     * @param config The configuration to read the client's settings from, which during a reload is not yet the plugin's
+     */
+    public C1ApiClient(String tenant, String baseUrl, String grantTaskEndpoint, String revokeTaskEndpoint, TokenManager tokenManager,
+                       int maxConcurrentRequests, ConfigurationSection config, SignAccessRequestPlugin plugin) {
+        this.tenant = tenant;
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         this.grantTaskEndpoint = grantTaskEndpoint;
         this.revokeTaskEndpoint = revokeTaskEndpoint;
         this.tokenManager = tokenManager;
         this.plugin = plugin;
         this.gson = new Gson();
+        this.openTaskIndex = new OpenTaskIndex(config.getLong("cache.open-task-ttl-seconds", 60) * 1000L);
+        this.checkExistingTasks = config.getBoolean("requests.check-existing-tasks", true);
+        this.createAttempts = Math.max(1, config.getInt("requests.create-attempts", 3));
+        this.idempotencyWindowMillis = Math.max(1, config.getLong("requests.idempotency-window-seconds", 300)) * 1000L;
+        this.timeoutMillis = Math.max(1, config.getInt("requests.timeout-seconds", 10)) * 1000;
+        this.maxResponseBytes = Math.max(64, config.getInt("requests.max-response-kb", 2048)) * 1024;
+
+        // Each tenant runs its calls on its own threads behind its own bulkhead, so a slow tenant
+        // can only queue up work for itself. Idle threads exit, so a replaced client's pool winds down on its own.
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.scheduler = new RequestScheduler(this.maxConcurrentRequests,
+            config.getInt("scheduler.revoke-reserved-slots", 1),
+            new int[] {
+                config.getInt("scheduler.revoke-weight", 8),
+                config.getInt("scheduler.interactive-weight", 4),
+                config.getInt("scheduler.background-weight", 1)
+            },
+            config.getLong("scheduler.max-wait-millis", 2000));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.requestExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "SignAccessRequest-" + tenant + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Entitlement and app user lookups from concurrent clicks are batched and cached
+        long batchWindowMillis = Math.max(0, config.getLong("batching.window-millis", 5));
+        int maxBatchSize = config.getInt("batching.max-batch-size", 50);
+        this.batchTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SignAccessRequest-" + tenant + "-Batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.entitlementTtlMillis = config.getLong("cache.entitlement-ttl-seconds", 300) * 1000L;
+        this.entitlementLoader = new BatchLoader<>(aliases -> loadEntitlements(aliases, RequestScheduler.Lane.INTERACTIVE),
+            new TtlCache<>(entitlementTtlMillis),
+            batchTimer, requestExecutor, batchWindowMillis, maxBatchSize);
+        this.appUserLoader = new BatchLoader<>(keys -> loadAppUsers(keys, RequestScheduler.Lane.INTERACTIVE),
+            new TtlCache<>(config.getLong("cache.app-user-ttl-seconds", 300) * 1000L),
+            batchTimer, requestExecutor, batchWindowMillis, maxBatchSize);
+
+        String catalogId = SignValidator.DEFAULT_TENANT.equals(tenant)
+            ? config.getString("catalog.catalog-id", "")
+            : config.getString("tenants." + tenant + ".catalog-id", "");
+        this.catalog = config.getBoolean("catalog.enabled", false)
+            ? new EntitlementCatalog(this, plugin, catalogId)
+            : null;
+        this.grantTracker = config.getBoolean("grant-feed.enabled", true)
+            ? new GrantTracker(this, plugin)
+            : null;
+        this.sharedCache = plugin.getSharedCache();
+        this.appUserDirectory = plugin.getAppUserDirectory();
+        this.trafficCapture = plugin.getTrafficCapture();
+    }
+
+    /**
+     * Carries caches and local state over from the client this one replaces.
+     * Only call this when both clients talk to the same tenant.
+     */
+    public void inheritStateFrom(C1ApiClient previous) {
+        openTaskIndex.copyFrom(previous.openTaskIndex);
+        entitlementLoader.getCache().copyFrom(previous.entitlementLoader.getCache());
+        appUserLoader.getCache().copyFrom(previous.appUserLoader.getCache());
+        aliasInvalidations.putAll(previous.aliasInvalidations);
+        cachesClearedAt = previous.cachesClearedAt;
+        if (catalog != null && previous.catalog != null) {
+            catalog.copyFrom(previous.catalog);
+        }
+        if (grantTracker != null && previous.grantTracker != null) {
+            grantTracker.copyFrom(previous.grantTracker);
+        }
+    }
+
+    /**
+     * Stops the batch timer. Batches that are already scheduled still run.
+     */
+    public void shutdown() {
+        batchTimer.shutdown();
+    }
+
+    /**
+     * Shuts down once the work already handed to this client has drained, for a client replaced by a reload.
+     * Requests that still reach it afterwards are sent without batching. Stops waiting after a few minutes.
+     */
+    public void retire() {
+        long deadline = System.currentTimeMillis() + RETIRE_MAX_WAIT_MILLIS;
+        batchTimer.scheduleWithFixedDelay(() -> {
+            if (isIdle() || System.currentTimeMillis() >= deadline) {
+                if (plugin.isDebugMode()) {
+                    plugin.getLogger().info("[DEBUG] Retired API client for tenant " + tenant + (isIdle() ? "" : " with work still pending"));
+                }
+                batchTimer.shutdown();
+            }
+        }, RETIRE_CHECK_MILLIS, RETIRE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether no task workflow, lookup or API call is running or waiting on this client
+     */
+    private boolean isIdle() {
+        if (activeWorkflows.get() > 0 || entitlementLoader.getPendingCount() > 0 || appUserLoader.getPendingCount() > 0
+                || scheduler.getInFlight() > 0) {
+            return false;
+        }
+        for (RequestScheduler.Lane lane : RequestScheduler.Lane.values()) {
+            if (scheduler.getWaiting(lane) > 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -38,116 +212,617 @@ public class C1ApiClient {
      * @return A CompletableFuture that completes with an AccessRequestResult
      */
     public CompletableFuture<AccessRequestResult> createGrantTask(Player player, String entitlementAlias) {
-        return tokenManager.getAccessToken().thenComposeAsync(token -> {
-            try {
-                // Step 1: Search for entitlement by alias
-                JsonObject entitlement = searchEntitlementByAlias(token, entitlementAlias);
-                if (entitlement == null) {
-                    return CompletableFuture.completedFuture(
-                        new AccessRequestResult(false, "Entitlement '" + entitlementAlias + "' not found", null));
+        return createGrantTask(player, entitlementAlias, null);
+    }
+
+    /**
+     * Creates a grant task for an entitlement that was already resolved, e.g. from a verified sign.
+     * Falls back to resolving the alias when no entitlement is given.
+     */
+    public CompletableFuture<AccessRequestResult> createGrantTask(Player player, String entitlementAlias, ResolvedEntitlement entitlement) {
+        return runTaskWorkflow(player.getUniqueId(), player.getName(), entitlementAlias, entitlement, TaskAction.GRANT,
+                               RequestScheduler.Lane.INTERACTIVE, true);
+    }
+
+    /**
+     * Creates a revoke task for the given entitlement alias
+     */
+    public CompletableFuture<AccessRequestResult> createRevokeTask(Player player, String entitlementAlias) {
+        return createRevokeTask(player, entitlementAlias, null);
+    }
+
+    /**
+     * Creates a revoke task for an entitlement that was already resolved, e.g. from a verified sign.
+     * Falls back to resolving the alias when no entitlement is given.
+     */
+    public CompletableFuture<AccessRequestResult> createRevokeTask(Player player, String entitlementAlias, ResolvedEntitlement entitlement) {
+        return runTaskWorkflow(player.getUniqueId(), player.getName(), entitlementAlias, entitlement, TaskAction.REVOKE,
+                               RequestScheduler.Lane.REVOKE, true);
+    }
+
+    /**
+     * Creates a task on behalf of an admin, e.g. from /c1bulk. Grants wait behind players' own requests; revokes still go first.
+     */
+    public CompletableFuture<AccessRequestResult> createBulkTask(Player player, String entitlementAlias, ResolvedEntitlement entitlement,
+                                                                 TaskAction action) {
+        return runTaskWorkflow(player.getUniqueId(), player.getName(), entitlementAlias, entitlement, action,
+                               backgroundLane(action), true);
+    }
+
+    /**
+     * Submits a request from the outbound queue. Failures are reported back rather than queued again.
+     */
+    public CompletableFuture<AccessRequestResult> replayQueued(OutboundQueue.QueuedRequest request) {
+        return runTaskWorkflow(request.getPlayerUuid(), request.getPlayerName(), request.getAlias(),
+                               request.getEntitlement(), request.getAction(), backgroundLane(request.getAction()), false);
+    }
+
+    /**
+     * Revokes are urgent wherever they come from; everything else not started by a player waits in the background lane
+     */
+    private static RequestScheduler.Lane backgroundLane(TaskAction action) {
+        return action == TaskAction.REVOKE ? RequestScheduler.Lane.REVOKE : RequestScheduler.Lane.BACKGROUND;
+    }
+
+    /**
+     * Checks that ConductorOne is reachable and accepts our token. Blocks, so call it off the main thread.
+     */
+    public boolean checkHealth() {
+        try {
+            String token = tokenManager.getAccessToken().join();
+            return getJson(token, baseUrl + "/api/v1/auth/introspect", RequestScheduler.Lane.BACKGROUND).getStatusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs the task workflow and, when ConductorOne is unreachable, moves the request to the outbound queue
+     */
+    private CompletableFuture<AccessRequestResult> runTaskWorkflow(UUID playerUuid, String playerName, String entitlementAlias,
+                                                                   ResolvedEntitlement knownEntitlement, TaskAction action,
+                                                                   RequestScheduler.Lane lane, boolean queueOnFailure) {
+        // Counted so a client retired by a reload is only shut down after its workflows finish
+        activeWorkflows.incrementAndGet();
+        CompletableFuture<AccessRequestResult> workflow;
+        try {
+            workflow = runTaskWorkflow(playerUuid, playerName, entitlementAlias, knownEntitlement, action, lane);
+        } catch (RuntimeException e) {
+            activeWorkflows.decrementAndGet();
+            throw e;
+        }
+        return workflow.handle((result, error) -> {
+            if (error != null) {
+                if (!isConnectivityFailure(error)) {
+                    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
                 }
+                plugin.getLogger().warning("ConductorOne unreachable during " + action.getName() + " request for " +
+                                           playerName + ": " + error.getMessage());
+                result = AccessRequestResult.retryableFailure("Network connection failed");
+            }
+
+            OutboundQueue queue = plugin.getOutboundQueue();
+            if (!result.isRetryable() || !queueOnFailure || queue == null) {
+                return result;
+            }
+
+            boolean added = queue.enqueue(new OutboundQueue.QueuedRequest(tenant, playerUuid, playerName, entitlementAlias, knownEntitlement, action));
+            return AccessRequestResult.queued(added
+                ? "ConductorOne is unreachable right now. Your request was queued and will be submitted automatically."
+                : "Your request is already queued and will be submitted once ConductorOne is reachable.");
+        }).whenComplete((result, error) -> {
+            activeWorkflows.decrementAndGet();
+            // A queued request that failed again stays queued; its QUEUED entry already covers it
+            RequestHistory history = plugin.getRequestHistory();
+            boolean stillQueued = !queueOnFailure && result != null && result.isRetryable();
+            if (history != null && !stillQueued) {
+                history.record(playerUuid, playerName, tenant, entitlementAlias, action, result != null ? result
+                    : new AccessRequestResult(false, "Internal error: " + error.getMessage(), null));
+            }
+        });
+    }
+
+    /**
+     * Whether a failure came from the network or transport rather than from the request itself
+     */
+    private static boolean isConnectivityFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                String appId = entitlement.get("appId").getAsString();
-                String entitlementId = entitlement.get("id").getAsString();
+    /**
+     * Resolves the entitlement and app user, checks for open tasks and creates a task if none exist.
+     * The task search and creation run in the given lane; lookups are shared between requests and run as interactive.
+     */
+    private CompletableFuture<AccessRequestResult> runTaskWorkflow(UUID playerUuid, String playerName, String entitlementAlias,
+                                                                   ResolvedEntitlement knownEntitlement, TaskAction action,
+                                                                   RequestScheduler.Lane lane) {
+        // Step 1: Resolve the entitlement by alias, unless the sign already carries it
+        CompletableFuture<ResolvedEntitlement> entitlementFuture = knownEntitlement != null
+            ? CompletableFuture.completedFuture(knownEntitlement)
+            : resolveEntitlement(entitlementAlias, lane);
+        return entitlementFuture.thenCompose(entitlement -> {
+            if (entitlement == null) {
+                return CompletableFuture.completedFuture(
+                    new AccessRequestResult(false, "Entitlement '" + entitlementAlias + "' not found", null));
+            }
 
-                // Step 2: Search for app user in this specific app by minecraft username
-                String appUserId = searchAppUserByUsername(token, appId, player.getName());
+            // Step 2: Resolve the player's app user in this specific app
+            return resolveAppUser(playerUuid, playerName, entitlement.getAppId(), lane).thenCompose(appUserId -> {
                 if (appUserId == null) {
                     return CompletableFuture.completedFuture(
-                        new AccessRequestResult(false, "User '" + player.getName() + "' not found in app", null));
+                        new AccessRequestResult(false, "User '" + playerName + "' not found in app", null));
                 }
 
-                // Step 3: Check for existing open tasks
-                java.util.List<ExistingTask> existingTasks = searchExistingTasks(token, appUserId, entitlementId);
-                if (!existingTasks.isEmpty()) {
-                    // Found existing tasks - return info about them instead of creating a new one
-                    StringBuilder message = new StringBuilder("You have " + existingTasks.size() + " existing open task(s):");
-                    for (ExistingTask task : existingTasks) {
-                        message.append("\n • ").append(task.getDisplayName()).append(" (").append(task.getTaskType()).append(")");
+                // Answer from the local grant view when it already knows the outcome
+                if (grantTracker != null) {
+                    grantTracker.track(playerUuid, entitlement.getAppId(), appUserId);
+                    Boolean granted = grantTracker.isGranted(appUserId, entitlement.getEntitlementId());
+                    if (action == TaskAction.GRANT && Boolean.TRUE.equals(granted)) {
+                        return CompletableFuture.completedFuture(
+                            new AccessRequestResult(false, "You already have access to '" + entitlementAlias + "'", null));
+                    }
+                    if (action == TaskAction.REVOKE && Boolean.FALSE.equals(granted)) {
+                        return CompletableFuture.completedFuture(
+                            new AccessRequestResult(false, "You don't have access to '" + entitlementAlias + "', nothing to revoke", null));
                     }
-                    // Return the first task's URL
-                    return CompletableFuture.completedFuture(
-                        new AccessRequestResult(false, message.toString(), existingTasks.get(0).getTaskUrl(), existingTasks));
                 }
 
-                // Step 4: Create grant task (no existing tasks found)
-                return createGrantTaskWithIds(token, player, appId, entitlementId, appUserId, entitlementAlias);
+                return tokenManager.getAccessToken().thenComposeAsync(token ->
+                    checkAndCreateTask(token, playerUuid, playerName, action, lane, entitlement.getAppId(), entitlement.getEntitlementId(),
+                                       appUserId, entitlementAlias), requestExecutor);
+            });
+        });
+    }
+
+    /**
+     * Resolves an entitlement alias from the local catalog mirror when it is known there, otherwise remotely
+     */
+    public CompletableFuture<ResolvedEntitlement> resolveEntitlement(String alias) {
+        return resolveEntitlement(alias, RequestScheduler.Lane.INTERACTIVE);
+    }
+
+    /**
+     * Resolves an entitlement alias for a request in the given lane. Lookups for a revoke skip the batch window
+     * and run in the revoke lane, so they can use the slots reserved for revokes.
+     */
+    private CompletableFuture<ResolvedEntitlement> resolveEntitlement(String alias, RequestScheduler.Lane lane) {
+        if (catalog != null) {
+            ResolvedEntitlement local = catalog.lookup(alias);
+            if (local != null) {
+                return CompletableFuture.completedFuture(local);
+            }
+        }
+        if (lane != RequestScheduler.Lane.REVOKE) {
+            return entitlementLoader.load(alias);
+        }
+
+        ResolvedEntitlement cached = entitlementLoader.getCache().get(alias);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            ResolvedEntitlement resolved = lookupNow(aliases -> loadEntitlements(aliases, lane), alias);
+            if (resolved != null) {
+                entitlementLoader.getCache().put(alias, resolved);
+            }
+            return resolved;
+        }, requestExecutor);
+    }
+
+    /**
+     * Resolves a player's app user: from the UUID mapping when the player was matched in this app before,
+     * otherwise by an exact username search whose match is then remembered
+     */
+    private CompletableFuture<String> resolveAppUser(UUID playerUuid, String playerName, String appId, RequestScheduler.Lane lane) {
+        String known = appUserDirectory != null ? appUserDirectory.get(playerUuid, appId) : null;
+        if (known != null) {
+            return CompletableFuture.completedFuture(known);
+        }
+        AppUserKey key = new AppUserKey(appId, playerName);
+        CompletableFuture<String> lookup;
+        if (lane != RequestScheduler.Lane.REVOKE) {
+            lookup = appUserLoader.load(key);
+        } else {
+            // Like entitlements, a revoke's app user lookup skips the batch window and runs in the revoke lane
+            String cached = appUserLoader.getCache().get(key);
+            lookup = cached != null
+                ? CompletableFuture.completedFuture(cached)
+                : CompletableFuture.supplyAsync(() -> {
+                    String appUserId = lookupNow(keys -> loadAppUsers(keys, lane), key);
+                    if (appUserId != null) {
+                        appUserLoader.getCache().put(key, appUserId);
+                    }
+                    return appUserId;
+                }, requestExecutor);
+        }
+        return lookup.thenApply(appUserId -> {
+            if (appUserId != null && appUserDirectory != null) {
+                appUserDirectory.record(playerUuid, appId, appUserId);
+            }
+            return appUserId;
+        });
+    }
 
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error in grant task workflow: " + e.getMessage());
+    /**
+     * Resolves many players' app users in one app, searching in batches for players not matched there before.
+     * Best effort: a failed lookup only leaves that player out, and their own request reports the failure later.
+     *
+     * @return Player UUID -> app user ID for every player that was found
+     */
+    public CompletableFuture<Map<UUID, String>> prefetchAppUsers(String appId, java.util.Collection<? extends Player> players) {
+        Map<UUID, String> results = new java.util.concurrent.ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> lookups = new java.util.ArrayList<>();
+        for (Player player : players) {
+            lookups.add(resolveAppUser(player.getUniqueId(), player.getName(), appId, RequestScheduler.Lane.INTERACTIVE).thenAccept(appUserId -> {
+                if (appUserId != null) {
+                    results.put(player.getUniqueId(), appUserId);
+                }
+            }).exceptionally(error -> {
                 if (plugin.isDebugMode()) {
-                    e.printStackTrace();
+                    plugin.getLogger().info("[DEBUG] App user prefetch failed for " + player.getName() + ": " + error.getMessage());
                 }
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).thenApply(ignored -> results);
+    }
+
+    /**
+     * Works out a player's access to an entitlement purely from local state, without any API calls.
+     * Returns UNKNOWN when any piece needed to answer has not been cached yet.
+     */
+    public AccessStatus getCachedStatus(Player player, String alias) {
+        ResolvedEntitlement entitlement = catalog != null ? catalog.lookup(alias) : null;
+        if (entitlement == null) {
+            entitlement = entitlementLoader.getCache().peek(alias);
+        }
+        if (entitlement == null) {
+            return AccessStatus.UNKNOWN;
+        }
+
+        String appUserId = appUserDirectory != null ? appUserDirectory.get(player.getUniqueId(), entitlement.getAppId()) : null;
+        if (appUserId == null) {
+            appUserId = appUserLoader.getCache().peek(new AppUserKey(entitlement.getAppId(), player.getName()));
+        }
+        if (appUserId == null) {
+            return AccessStatus.UNKNOWN;
+        }
+
+        if (openTaskIndex.peek(appUserId, entitlement.getEntitlementId()) != null) {
+            return AccessStatus.PENDING;
+        }
+
+        Boolean granted = grantTracker != null ? grantTracker.isGranted(appUserId, entitlement.getEntitlementId()) : null;
+        if (granted == null) {
+            return AccessStatus.UNKNOWN;
+        }
+        return granted ? AccessStatus.GRANTED : AccessStatus.NOT_GRANTED;
+    }
+
+    /**
+     * Checks for existing open tasks and creates a new task if there are none
+     */
+    private CompletableFuture<AccessRequestResult> checkAndCreateTask(String token, UUID playerUuid, String playerName, TaskAction action,
+                                                                       RequestScheduler.Lane lane, String appId, String entitlementId,
+                                                                       String appUserId, String entitlementAlias) {
+        try {
+            // Step 3: Check for existing open tasks, answering from the local index when possible
+            java.util.List<ExistingTask> existingTasks = openTaskIndex.get(appUserId, entitlementId);
+            if (existingTasks != null) {
+                if (plugin.isDebugMode()) {
+                    plugin.getLogger().info("[DEBUG] Open task index hit for " + appUserId + " / " + entitlementId);
+                }
+            } else if (checkExistingTasks) {
+                existingTasks = searchExistingTasks(token, playerUuid, appUserId, entitlementId, lane);
+                openTaskIndex.recordSearch(appUserId, entitlementId, existingTasks);
+            } else {
+                existingTasks = java.util.Collections.emptyList();
+            }
+
+            if (!existingTasks.isEmpty()) {
+                // Found existing tasks - return info about them instead of creating a new one
+                StringBuilder message = new StringBuilder("You have " + existingTasks.size() + " existing open task(s):");
+                for (ExistingTask task : existingTasks) {
+                    message.append("\n • ").append(task.getDisplayName()).append(" (").append(task.getTaskType()).append(")");
+                }
+                // Return the first task's URL
                 return CompletableFuture.completedFuture(
-                    new AccessRequestResult(false, "Internal error: " + e.getMessage(), null));
+                    new AccessRequestResult(false, message.toString(), existingTasks.get(0).getTaskUrl(), existingTasks));
+            }
+
+            // Step 4: Create the task (no existing tasks found)
+            return createTaskWithIds(token, playerUuid, playerName, action, lane, appId, entitlementId, appUserId, entitlementAlias);
+
+        } catch (IOException e) {
+            // The search failed to reach ConductorOne or found no free request slot; worth retrying, so it is queued
+            plugin.getLogger().warning("Error searching open tasks during " + action.getName() + " request for " +
+                                       playerName + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(AccessRequestResult.retryableFailure("Network connection failed"));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Error in " + action.getName() + " task workflow: " + e.getMessage());
+            if (plugin.isDebugMode()) {
+                e.printStackTrace();
+            }
+            return CompletableFuture.completedFuture(
+                new AccessRequestResult(false, "Internal error: " + e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Batch function for entitlement lookups.
+     * The search API only filters on a single alias, so each distinct alias in the batch is searched
+     * concurrently and duplicate lookups are collapsed by the loader. An alias is shared by every player who
+     * clicked it within the window, so these searches record no player UUID.
+     */
+    private Map<String, ResolvedEntitlement> loadEntitlements(List<String> aliases, RequestScheduler.Lane lane) throws BatchLoader.PartialFailure {
+        // Aliases another server on this host already resolved are answered from the shared cache
+        Map<String, ResolvedEntitlement> results = new HashMap<>();
+        List<String> remote = new java.util.ArrayList<>();
+        for (String alias : aliases) {
+            String shared = sharedCache != null ? sharedCache.get(sharedEntitlementKey(alias)) : null;
+            int separator = shared != null ? shared.indexOf('\n') : -1;
+            if (separator > 0) {
+                results.put(alias, new ResolvedEntitlement(shared.substring(0, separator), shared.substring(separator + 1)));
+            } else {
+                remote.add(alias);
+            }
+        }
+        if (remote.isEmpty()) {
+            return results;
+        }
+
+        String token = tokenManager.getAccessToken().join();
+
+        Map<String, CompletableFuture<JsonObject>> searches = new HashMap<>();
+        for (String alias : remote) {
+            searches.put(alias, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return searchEntitlementByAlias(token, alias, lane);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }, requestExecutor));
+        }
+
+        // A failed search only fails its own alias, not every click waiting on the batch
+        Map<String, Throwable> failures = new HashMap<>();
+        searches.forEach((alias, search) -> {
+            JsonObject entitlement;
+            try {
+                entitlement = search.join();
+            } catch (CompletionException e) {
+                failures.put(alias, unwrapSearchFailure(e));
+                return;
+            }
+            if (entitlement != null) {
+                ResolvedEntitlement resolved = new ResolvedEntitlement(
+                    entitlement.get("appId").getAsString(), entitlement.get("id").getAsString());
+                results.put(alias, resolved);
+                if (sharedCache != null) {
+                    sharedCache.put(sharedEntitlementKey(alias), resolved.getAppId() + "\n" + resolved.getEntitlementId(),
+                                    entitlementLoader.getCache().getTtlMillis());
+                }
             }
         });
+        if (!failures.isEmpty()) {
+            throw new BatchLoader.PartialFailure(results, failures);
+        }
+        return results;
     }
 
     /**
-     * Searches for an entitlement by alias
+     * Runs a batch function for a single key outside the loader, rethrowing the failure of the key unchecked
      */
-    private JsonObject searchEntitlementByAlias(String token, String alias) throws IOException {
-        String searchUrl = baseUrl + "/api/v1/search/entitlements";
-        URL url = new URL(searchUrl);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    private static <K, V> V lookupNow(BatchLoader.BatchFunction<K, V> lookup, K key) {
+        try {
+            return lookup.load(List.of(key)).get(key);
+        } catch (BatchLoader.PartialFailure e) {
+            throw new CompletionException(e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
 
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("Authorization", "Bearer " + token);
-        conn.setDoOutput(true);
+    /**
+     * Gets the exception a concurrent search failed with, unwrapping the layers added to carry it out of the task
+     */
+    private static Throwable unwrapSearchFailure(CompletionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause instanceof java.io.UncheckedIOException ? cause.getCause() : cause;
+    }
+
+    /**
+     * Batch function for app user lookups.
+     * App users are matched with a free-text query, which the search API accepts only once per request,
+     * so each distinct (app, username) pair in the batch is searched concurrently. Lookups are keyed by name and
+     * may be answered for several requests at once, so these searches record no player UUID either.
+     */
+    private Map<AppUserKey, String> loadAppUsers(List<AppUserKey> keys, RequestScheduler.Lane lane) throws BatchLoader.PartialFailure {
+        Map<AppUserKey, String> results = new HashMap<>();
+        List<AppUserKey> remote = new java.util.ArrayList<>();
+        for (AppUserKey key : keys) {
+            String shared = sharedCache != null ? sharedCache.get(sharedAppUserKey(key)) : null;
+            if (shared != null) {
+                results.put(key, shared);
+            } else {
+                remote.add(key);
+            }
+        }
+        if (remote.isEmpty()) {
+            return results;
+        }
+
+        String token = tokenManager.getAccessToken().join();
+
+        Map<AppUserKey, CompletableFuture<String>> searches = new HashMap<>();
+        for (AppUserKey key : remote) {
+            searches.put(key, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return searchAppUserByUsername(token, key.getAppId(), key.getUsername(), lane);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }, requestExecutor));
+        }
 
+        Map<AppUserKey, Throwable> failures = new HashMap<>();
+        searches.forEach((key, search) -> {
+            String appUserId;
+            try {
+                appUserId = search.join();
+            } catch (CompletionException e) {
+                failures.put(key, unwrapSearchFailure(e));
+                return;
+            }
+            if (appUserId != null) {
+                results.put(key, appUserId);
+                if (sharedCache != null) {
+                    sharedCache.put(sharedAppUserKey(key), appUserId, appUserLoader.getCache().getTtlMillis());
+                }
+            }
+        });
+        if (!failures.isEmpty()) {
+            throw new BatchLoader.PartialFailure(results, failures);
+        }
+        return results;
+    }
+
+    /**
+     * Shared cache keys are scoped to the tenant's base URL, since every server on the host shares one table
+     */
+    private String sharedEntitlementKey(String alias) {
+        return "entitlement\n" + baseUrl + "\n" + alias;
+    }
+
+    private String sharedAppUserKey(AppUserKey key) {
+        return "app-user\n" + baseUrl + "\n" + key.getAppId() + "\n" + key.getUsername().toLowerCase();
+    }
+
+    /**
+     * Searches for an entitlement by alias
+     */
+    private JsonObject searchEntitlementByAlias(String token, String alias, RequestScheduler.Lane lane) throws IOException {
         JsonObject requestBody = new JsonObject();
         requestBody.addProperty("alias", alias);
-        requestBody.addProperty("pageSize", 1);
-
-        String requestBodyJson = gson.toJson(requestBody);
+        addEmptyExpandMask(requestBody);
 
         if (plugin.isDebugMode()) {
             plugin.getLogger().info("[DEBUG] Entitlement Search:");
             plugin.getLogger().info("[DEBUG]   Alias: " + alias);
         }
 
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = requestBodyJson.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-        }
-
-        int responseCode = conn.getResponseCode();
-        if (responseCode == 200) {
-            String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            JsonObject jsonResponse = gson.fromJson(response, JsonObject.class);
-
-            if (jsonResponse.has("list") && jsonResponse.getAsJsonArray("list").size() > 0) {
-                JsonObject entitlementView = jsonResponse.getAsJsonArray("list").get(0).getAsJsonObject();
+        try (SearchPages pages = search(token, "/api/v1/search/entitlements", requestBody, 1, 1, lane)) {
+            if (pages.hasNext()) {
+                JsonObject entitlementView = pages.next();
                 if (entitlementView.has("appEntitlement")) {
                     return entitlementView.getAsJsonObject("appEntitlement");
                 }
             }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
         return null;
     }
 
     /**
-     * Searches for an app user in a specific app by minecraft username
+     * Asks a search endpoint not to expand any related objects, since only the primary views are read
      */
-    private String searchAppUserByUsername(String token, String appId, String username) throws IOException {
-        String searchUrl = baseUrl + "/api/v1/search/app_users";
-        URL url = new URL(searchUrl);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    static void addEmptyExpandMask(JsonObject requestBody) {
+        JsonObject expandMask = new JsonObject();
+        expandMask.add("paths", new com.google.gson.JsonArray());
+        requestBody.add("expandMask", expandMask);
+    }
 
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("Authorization", "Bearer " + token);
-        conn.setDoOutput(true);
+    /**
+     * Lazily pages through a search endpoint, prefetching each next page on the request threads while the
+     * current one is read. Close the pager once done with it, so a prefetch nobody will read is dropped.
+     *
+     * @param requestBody The search request without its paging fields, copied for each page
+     * @param pageSize How many results to ask for per page
+     * @param maxResults How many results the caller wants at most, no page past them is fetched
+     */
+    public SearchPages search(String token, String path, JsonObject requestBody, int pageSize, int maxResults,
+                              RequestScheduler.Lane lane) {
+        return search(token, path, requestBody, pageSize, maxResults, lane, null);
+    }
 
+    /**
+     * Same as {@link #search(String, String, JsonObject, int, int, RequestScheduler.Lane)} for a search made on
+     * behalf of one player, whose UUID is recorded on each page's flight recorder event
+     */
+    private SearchPages search(String token, String path, JsonObject requestBody, int pageSize, int maxResults,
+                               RequestScheduler.Lane lane, UUID playerUuid) {
+        return new SearchPages(pageToken -> {
+            JsonObject pageBody = requestBody.deepCopy();
+            pageBody.addProperty("pageSize", Math.min(pageSize, maxResults));
+            if (pageToken != null) {
+                pageBody.addProperty("pageToken", pageToken);
+            }
+            return postSearch(token, path, pageBody, lane, playerUuid);
+        }, requestExecutor, maxResults);
+    }
+
+    /**
+     * Posts one search request and returns the parsed response, or null if the API rejected it
+     *
+     * @throws IOException If the request failed or the API returned a retryable error
+     */
+    private JsonObject postSearch(String token, String path, JsonObject requestBody, RequestScheduler.Lane lane,
+                                  UUID playerUuid) throws IOException {
+        SearchEvent event = new SearchEvent();
+        if (playerUuid != null) {
+            event.playerUuid = playerUuid.toString();
+        }
+        ApiResponse response = postJson(token, baseUrl + path, gson.toJson(requestBody), event, lane);
+        if (response.getStatusCode() == 200) {
+            return gson.fromJson(response.getBody(), JsonObject.class);
+        }
+        if (isRetryable(response.getStatusCode())) {
+            throw new IOException("Search " + path + " failed. HTTP " + response.getStatusCode());
+        }
+
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().warning("[DEBUG] Search " + path + " failed. HTTP " + response.getStatusCode() + ": " + response.getBody());
+        }
+        return null;
+    }
+
+    /**
+     * Lazily pages through the requestable entitlements in a catalog
+     */
+    SearchPages listRequestableEntitlements(String token, String catalogId, int pageSize) {
+        String listUrl = baseUrl + "/api/v1/catalogs/" + URLEncoder.encode(catalogId, StandardCharsets.UTF_8) +
+                         "/requestable_entitlements?page_size=" + pageSize;
+        return new SearchPages(pageToken -> {
+            String requestUrl = pageToken != null
+                ? listUrl + "&page_token=" + URLEncoder.encode(pageToken, StandardCharsets.UTF_8)
+                : listUrl;
+            ApiResponse response = getJson(token, requestUrl, RequestScheduler.Lane.BACKGROUND);
+            if (response.getStatusCode() == 200) {
+                return gson.fromJson(response.getBody(), JsonObject.class);
+            }
+
+            plugin.getLogger().warning("Catalog entitlement listing failed. HTTP " + response.getStatusCode() + ": " + response.getBody());
+            return null;
+        }, requestExecutor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Searches for an app user in a specific app by minecraft username
+     */
+    private String searchAppUserByUsername(String token, String appId, String username, RequestScheduler.Lane lane) throws IOException {
         JsonObject requestBody = new JsonObject();
         requestBody.addProperty("appId", appId);
         requestBody.addProperty("query", username);
-        requestBody.addProperty("pageSize", 1);
-
-        String requestBodyJson = gson.toJson(requestBody);
+        addEmptyExpandMask(requestBody);
 
         if (plugin.isDebugMode()) {
             plugin.getLogger().info("[DEBUG] App User Search:");
@@ -155,137 +830,206 @@ public class C1ApiClient {
             plugin.getLogger().info("[DEBUG]   Query: " + username);
         }
 
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = requestBodyJson.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
+        // The query is a free-text search, so only accept a user whose username matches exactly (e.g. not Steve2 for Steve),
+        // paging past near matches until one is found
+        try (SearchPages pages = search(token, "/api/v1/search/app_users", requestBody, APP_USER_SEARCH_PAGE_SIZE,
+                                        APP_USER_SEARCH_MAX_RESULTS, lane)) {
+            while (pages.hasNext()) {
+                JsonObject appUserView = pages.next();
+                if (!appUserView.has("appUser")) {
+                    continue;
+                }
+                JsonObject appUser = appUserView.getAsJsonObject("appUser");
+                if (appUser.has("id") && hasUsername(appUser, username)) {
+                    return appUser.get("id").getAsString();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        int responseCode = conn.getResponseCode();
-        if (responseCode == 200) {
-            String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            JsonObject jsonResponse = gson.fromJson(response, JsonObject.class);
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info("[DEBUG] No app user in app " + appId + " has the exact username " + username);
+        }
+        return null;
+    }
 
-            if (jsonResponse.has("list") && !jsonResponse.getAsJsonArray("list").isEmpty()) {
-                JsonObject appUserView = jsonResponse.getAsJsonArray("list").get(0).getAsJsonObject();
-                if (appUserView.has("appUser")) {
-                    JsonObject appUser = appUserView.getAsJsonObject("appUser");
-                    if (appUser.has("id")) {
-                        return appUser.get("id").getAsString();
-                    }
+    /**
+     * Whether an app user's username, or any of its usernames, is the given name (ignoring case)
+     */
+    private static boolean hasUsername(JsonObject appUser, String username) {
+        if (appUser.has("username") && !appUser.get("username").isJsonNull()
+                && appUser.get("username").getAsString().equalsIgnoreCase(username)) {
+            return true;
+        }
+        if (appUser.has("usernames") && appUser.get("usernames").isJsonArray()) {
+            for (com.google.gson.JsonElement name : appUser.getAsJsonArray("usernames")) {
+                if (!name.isJsonNull() && name.getAsString().equalsIgnoreCase(username)) {
+                    return true;
                 }
             }
         }
-
-        return null;
+        return false;
     }
 
     /**
-     * Creates a grant task with the resolved IDs
+     * Creates a grant or revoke task with the resolved IDs.
+     * Every attempt carries the same idempotency key, and before resending after a failure the open tasks
+     * are searched so a task the server committed on an earlier attempt is reported instead of duplicated.
      */
-    private CompletableFuture<AccessRequestResult> createGrantTaskWithIds(String token, Player player,
-                                                                            String appId, String entitlementId,
-                                                                            String appUserId, String entitlementAlias) {
+    private CompletableFuture<AccessRequestResult> createTaskWithIds(String token, UUID playerUuid, String playerName, TaskAction action,
+                                                                      RequestScheduler.Lane lane, String appId, String entitlementId,
+                                                                      String appUserId, String entitlementAlias) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                String requestUrl = baseUrl + "/" + grantTaskEndpoint;
-                URL url = new URL(requestUrl);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setRequestProperty("Authorization", "Bearer " + token);
-                conn.setDoOutput(true);
-
-                // Build grant task request body according to API spec
-                JsonObject requestBody = new JsonObject();
-                requestBody.addProperty("appId", appId);
-                requestBody.addProperty("appEntitlementId", entitlementId);
-                requestBody.addProperty("appUserId", appUserId);
-
-                // Add description with player info
-                requestBody.addProperty("description", "Access request from Minecraft player: " + player.getName());
+            String requestUrl = baseUrl + "/" + (action == TaskAction.GRANT ? grantTaskEndpoint : revokeTaskEndpoint);
+            String idempotencyKey = createIdempotencyKey(playerUuid, entitlementId, action);
+            String requestBodyJson = gson.toJson(buildTaskRequestBody(playerUuid, playerName, action, appId, entitlementId, appUserId, idempotencyKey));
+            String successMessage = action == TaskAction.GRANT ? "Request submitted" : "Revoke request submitted";
+
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (attempt > 1) {
+                        // A previous attempt may have been committed even though we never saw the response
+                        java.util.List<ExistingTask> openTasks = searchExistingTasks(token, playerUuid, appUserId, entitlementId, lane);
+                        openTaskIndex.recordSearch(appUserId, entitlementId, openTasks);
+                        // Only our own earlier attempt counts: same action and same idempotency key
+                        for (ExistingTask task : openTasks) {
+                            if (isOwnAttempt(task, action, idempotencyKey)) {
+                                plugin.getLogger().info("Reconciled " + action.getName() + " task for " + playerName +
+                                                      " (key " + idempotencyKey + ") on attempt " + attempt);
+                                return new AccessRequestResult(true, successMessage, task.getTaskUrl());
+                            }
+                        }
+                    }
 
-                // Add metadata in requestData field
-                JsonObject requestData = new JsonObject();
-                requestData.addProperty("source", "minecraft-sign");
-                requestData.addProperty("playerName", player.getName());
-                requestData.addProperty("playerUUID", player.getUniqueId().toString());
-                requestBody.add("requestData", requestData);
+                    if (plugin.isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] " + action.getDisplayName() + " Task Request (attempt " + attempt + "/" + createAttempts + "):");
+                        plugin.getLogger().info("[DEBUG]   URL: " + requestUrl);
+                        plugin.getLogger().info("[DEBUG]   Method: POST");
+                        plugin.getLogger().info("[DEBUG]   Body: " + requestBodyJson);
+                    }
 
-                String requestBodyJson = gson.toJson(requestBody);
+                    TaskCreateEvent event = new TaskCreateEvent();
+                    event.playerUuid = playerUuid.toString();
+                    event.attempt = attempt;
+                    ApiResponse response = postJson(token, requestUrl, requestBodyJson, event, lane);
+                    int responseCode = response.getStatusCode();
 
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Grant Task Request:");
-                    plugin.getLogger().info("[DEBUG]   URL: " + requestUrl);
-                    plugin.getLogger().info("[DEBUG]   Method: POST");
-                    plugin.getLogger().info("[DEBUG]   Body: " + requestBodyJson);
-                }
+                    if (plugin.isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] " + action.getDisplayName() + " Task Response Code: " + responseCode);
+                    }
 
-                // Send request
-                try (OutputStream os = conn.getOutputStream()) {
-                    byte[] input = requestBodyJson.getBytes(StandardCharsets.UTF_8);
-                    os.write(input, 0, input.length);
-                }
+                    if (responseCode == 200 || responseCode == 201) {
+                        if (plugin.isDebugMode()) {
+                            plugin.getLogger().info("[DEBUG] " + action.getDisplayName() + " Task Response: " + response.getBody());
+                        }
 
-                int responseCode = conn.getResponseCode();
+                        plugin.getLogger().info("Successfully created " + action.getName() + " task for " + playerName +
+                                              " for entitlement: " + entitlementAlias);
 
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Access Request Response Code: " + responseCode);
-                }
+                        // Parse response to get task ID and construct URL
+                        ExistingTask createdTask = extractCreatedTask(response.getBody(), action);
+                        if (createdTask.getTaskUrl() != null) {
+                            openTaskIndex.recordCreated(appUserId, entitlementId, createdTask);
+                        }
+                        return new AccessRequestResult(true, successMessage, createdTask.getTaskUrl());
+                    } else if (responseCode == 401) {
+                        // Token might be invalid, invalidate it
+                        tokenManager.invalidateToken();
 
-                if (responseCode == 200 || responseCode == 201) {
-                    String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                        if (plugin.isDebugMode()) {
+                            plugin.getLogger().warning("[DEBUG] Auth Error Response: " + response.getBody());
+                        }
 
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Grant Task Response: " + response);
+                        plugin.getLogger().warning("Authentication failed when creating " + action.getName() + " request: " + response.getBody());
+                        return new AccessRequestResult(false, "Authentication failed. Please contact an admin.", null);
                     }
 
-                    plugin.getLogger().info("Successfully created grant task for " + player.getName() +
-                                          " for entitlement: " + entitlementAlias);
-
-                    // Parse response to get task ID and construct URL
-                    String taskUrl = extractTaskUrl(response);
-                    return new AccessRequestResult(true, "Request submitted", taskUrl);
-                } else if (responseCode == 401) {
-                    // Token might be invalid, invalidate it
-                    tokenManager.invalidateToken();
-                    String errorMsg = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
-
                     if (plugin.isDebugMode()) {
-                        plugin.getLogger().warning("[DEBUG] Auth Error Response: " + errorMsg);
+                        plugin.getLogger().warning("[DEBUG] Error Response: " + response.getBody());
                     }
 
-                    plugin.getLogger().warning("Authentication failed when creating access request: " + errorMsg);
-                    return new AccessRequestResult(false, "Authentication failed. Please contact an admin.", null);
-                } else {
-                    String errorMsg = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
-
+                    plugin.getLogger().warning("Failed to create " + action.getName() + " request. HTTP " + responseCode + ": " + response.getBody());
+                    if (!isRetryable(responseCode)) {
+                        return new AccessRequestResult(false, "API returned error code " + responseCode, null);
+                    }
+                    if (attempt >= createAttempts) {
+                        return AccessRequestResult.retryableFailure("API returned error code " + responseCode);
+                    }
+                } catch (IOException e) {
+                    plugin.getLogger().severe("Error creating " + action.getName() + " request (attempt " + attempt + "/" + createAttempts + "): " + e.getMessage());
                     if (plugin.isDebugMode()) {
-                        plugin.getLogger().warning("[DEBUG] Error Response: " + errorMsg);
+                        e.printStackTrace();
+                    }
+                    if (attempt >= createAttempts) {
+                        return AccessRequestResult.retryableFailure("Network connection failed");
                     }
-
-                    plugin.getLogger().warning("Failed to create access request. HTTP " + responseCode + ": " + errorMsg);
-                    return new AccessRequestResult(false, "API returned error code " + responseCode, null);
                 }
 
-            } catch (IOException e) {
-                plugin.getLogger().severe("Error creating access request: " + e.getMessage());
-                if (plugin.isDebugMode()) {
-                    e.printStackTrace();
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new AccessRequestResult(false, "Request was interrupted", null);
                 }
-                return new AccessRequestResult(false, "Network connection failed", null);
             }
-        });
+        }, requestExecutor);
     }
 
     /**
-     * Extracts the task URL from the grant task API response using numeric_id
+     * Builds the grant or revoke task request body according to the API spec
      */
-    private String extractTaskUrl(String response) {
+    static JsonObject buildTaskRequestBody(UUID playerUuid, String playerName, TaskAction action, String appId, String entitlementId,
+                                           String appUserId, String idempotencyKey) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("appId", appId);
+        requestBody.addProperty("appEntitlementId", entitlementId);
+        requestBody.addProperty("appUserId", appUserId);
+
+        if (action == TaskAction.GRANT) {
+            // Add description with player info; the key is repeated there in case requestData is not echoed back
+            requestBody.addProperty("description", "Access request from Minecraft player: " + playerName +
+                                                   " (request " + idempotencyKey + ")");
+
+            // Add metadata in requestData field, which the task returns as its data
+            JsonObject requestData = new JsonObject();
+            requestData.addProperty("source", "minecraft-sign");
+            requestData.addProperty("playerName", playerName);
+            requestData.addProperty("playerUUID", playerUuid.toString());
+            requestData.addProperty("idempotencyKey", idempotencyKey);
+            requestBody.add("requestData", requestData);
+        } else {
+            // Revoke requests have no requestData field, so the key travels in the description
+            requestBody.addProperty("description", "Access revocation from Minecraft player: " + playerName +
+                                                   " (request " + idempotencyKey + ")");
+        }
+
+        return requestBody;
+    }
+
+    /**
+     * Derives a deterministic idempotency key for a player, entitlement and action within the current time window.
+     * Repeated requests inside one window always produce the same key.
+     */
+    private String createIdempotencyKey(UUID playerUuid, String entitlementId, TaskAction action) {
+        long window = System.currentTimeMillis() / idempotencyWindowMillis;
+        String seed = playerUuid + ":" + entitlementId + ":" + action.getName() + ":" + window;
+        return UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static boolean isRetryable(int responseCode) {
+        return responseCode == 408 || responseCode == 429 || responseCode >= 500;
+    }
+
+    /**
+     * Extracts the created task from the task API response, building its URL from numeric_id
+     */
+    private ExistingTask extractCreatedTask(String response, TaskAction action) {
+        String displayName = "Task";
         try {
             JsonObject jsonResponse = gson.fromJson(response, JsonObject.class);
 
-            // Grant task response format: { "taskView": { "task": { "numericId": "..." } } }
+            // Task response format: { "taskView": { "task": { "numericId": "...", "displayName": "..." } } }
             String numericId = null;
             if (jsonResponse.has("taskView")) {
                 JsonObject taskView = jsonResponse.getAsJsonObject("taskView");
@@ -299,32 +1043,77 @@ public class C1ApiClient {
                     else if (task.has("id")) {
                         numericId = task.get("id").getAsString();
                     }
+                    if (task.has("displayName")) {
+                        displayName = task.get("displayName").getAsString();
+                    }
                 }
             }
 
             if (numericId != null) {
                 // Construct the task URL with numeric ID
-                return baseUrl + "/task/" + numericId;
+                return new ExistingTask(baseUrl + "/task/" + numericId, displayName, action.getName());
             }
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to extract task URL from response: " + e.getMessage());
         }
-        return null;
+        return new ExistingTask(null, displayName, action.getName());
     }
 
     /**
-     * Searches for existing open tasks for this app user and entitlement
+     * Whether a searched task is an earlier attempt of this request: the same action and the same idempotency key
      */
-    public java.util.List<ExistingTask> searchExistingTasks(String token, String appUserId, String entitlementId) throws IOException {
-        String searchUrl = baseUrl + "/api/v1/search/tasks";
-        URL url = new URL(searchUrl);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    static boolean isOwnAttempt(ExistingTask task, TaskAction action, String idempotencyKey) {
+        return action.getName().equals(task.getTaskType()) && idempotencyKey.equals(task.getIdempotencyKey());
+    }
 
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("Authorization", "Bearer " + token);
-        conn.setDoOutput(true);
+    /**
+     * Reads a task from a search result. The type comes from the task's {@code type} oneof (grant or revoke).
+     */
+    static ExistingTask parseTask(JsonObject task, String baseUrl) {
+        String taskId = task.has("numericId") ? task.get("numericId").getAsString() :
+                        (task.has("id") ? task.get("id").getAsString() : null);
+        String taskUrl = taskId != null ? baseUrl + "/task/" + taskId : null;
+        String displayName = task.has("displayName") ? task.get("displayName").getAsString() : "Task";
+        String taskType = "unknown";
+
+        // Determine task type (grant/revoke)
+        if (task.has("type") && task.get("type").isJsonObject()) {
+            JsonObject type = task.getAsJsonObject("type");
+            if (type.has("grant")) {
+                taskType = TaskAction.GRANT.getName();
+            } else if (type.has("revoke")) {
+                taskType = TaskAction.REVOKE.getName();
+            }
+        }
+
+        return new ExistingTask(taskUrl, displayName, taskType, extractIdempotencyKey(task));
+    }
 
+    /**
+     * Reads the idempotency key a task was created with: grants carry it in their data (the requestData they were
+     * created with), and both grants and revokes in the description. Returns null for tasks not created by this plugin.
+     */
+    private static String extractIdempotencyKey(JsonObject task) {
+        if (task.has("data") && task.get("data").isJsonObject()) {
+            JsonObject data = task.getAsJsonObject("data");
+            if (data.has("idempotencyKey") && !data.get("idempotencyKey").isJsonNull()) {
+                return data.get("idempotencyKey").getAsString();
+            }
+        }
+        if (task.has("description") && !task.get("description").isJsonNull()) {
+            Matcher matcher = DESCRIPTION_KEY.matcher(task.get("description").getAsString());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches for existing open tasks for this app user and entitlement, on behalf of the given player
+     */
+    public java.util.List<ExistingTask> searchExistingTasks(String token, UUID playerUuid, String appUserId, String entitlementId,
+                                                            RequestScheduler.Lane lane) throws IOException {
         JsonObject requestBody = new JsonObject();
 
         // Filter by app user
@@ -341,10 +1130,7 @@ public class C1ApiClient {
         com.google.gson.JsonArray taskStates = new com.google.gson.JsonArray();
         taskStates.add("TASK_STATE_OPEN");
         requestBody.add("taskStates", taskStates);
-
-        requestBody.addProperty("pageSize", 10);
-
-        String requestBodyJson = gson.toJson(requestBody);
+        addEmptyExpandMask(requestBody);
 
         if (plugin.isDebugMode()) {
             plugin.getLogger().info("[DEBUG] Task Search:");
@@ -352,202 +1138,450 @@ public class C1ApiClient {
             plugin.getLogger().info("[DEBUG]   Entitlement ID: " + entitlementId);
         }
 
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = requestBodyJson.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
+        java.util.List<ExistingTask> existingTasks = new java.util.ArrayList<>();
+        try (SearchPages pages = search(token, "/api/v1/search/tasks", requestBody, TASK_SEARCH_PAGE_SIZE,
+                                        TASK_SEARCH_MAX_RESULTS, lane, playerUuid)) {
+            while (pages.hasNext()) {
+                JsonObject taskView = pages.next();
+                if (!taskView.has("task")) {
+                    continue;
+                }
+                existingTasks.add(parseTask(taskView.getAsJsonObject("task"), baseUrl));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        int responseCode = conn.getResponseCode();
-        if (responseCode == 200) {
-            String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            JsonObject jsonResponse = gson.fromJson(response, JsonObject.class);
+        return existingTasks;
+    }
 
-            java.util.List<ExistingTask> existingTasks = new java.util.ArrayList<>();
-
-            if (jsonResponse.has("list") && jsonResponse.getAsJsonArray("list").size() > 0) {
-                for (com.google.gson.JsonElement elem : jsonResponse.getAsJsonArray("list")) {
-                    JsonObject taskView = elem.getAsJsonObject();
-                    if (taskView.has("task")) {
-                        JsonObject task = taskView.getAsJsonObject("task");
-
-                        String taskId = task.has("numericId") ? task.get("numericId").getAsString() :
-                                        (task.has("id") ? task.get("id").getAsString() : null);
-                        String taskUrl = taskId != null ? baseUrl + "/task/" + taskId : null;
-                        String displayName = task.has("displayName") ? task.get("displayName").getAsString() : "Task";
-                        String taskType = "unknown";
-
-                        // Determine task type (grant/revoke)
-                        if (task.has("taskType")) {
-                            JsonObject taskTypeObj = task.getAsJsonObject("taskType");
-                            if (taskTypeObj.has("grant")) {
-                                taskType = "grant";
-                            } else if (taskTypeObj.has("revoke")) {
-                                taskType = "revoke";
-                            }
-                        }
+    /**
+     * Sends an authenticated JSON POST request and reads the full response body
+     */
+    private ApiResponse postJson(String token, String requestUrl, String requestBodyJson, RequestScheduler.Lane lane) throws IOException {
+        return postJson(token, requestUrl, requestBodyJson, new SearchEvent(), lane);
+    }
 
-                        existingTasks.add(new ExistingTask(taskUrl, displayName, taskType));
-                    }
-                }
+    /**
+     * Sends an authenticated JSON POST request, recording it as the given flight recorder event
+     */
+    private ApiResponse postJson(String token, String requestUrl, String requestBodyJson, ApiCallEvent event,
+                                 RequestScheduler.Lane lane) throws IOException {
+        byte[] input = requestBodyJson.getBytes(StandardCharsets.UTF_8);
+        acquireRequestSlot(lane);
+        event.begin();
+        long started = System.nanoTime();
+        ApiResponse response = null;
+        try {
+            HttpURLConnection conn = openConnection(token, requestUrl, "POST");
+            conn.setRequestProperty("Content-Type", "application/json");
+            conn.setDoOutput(true);
+
+            try (OutputStream os = conn.getOutputStream()) {
+                os.write(input, 0, input.length);
             }
 
-            return existingTasks;
+            response = recordResponse(event, readResponse(conn));
+            return response;
+        } finally {
+            scheduler.release();
+            commitEvent(event, requestUrl, "POST", input.length);
+            captureExchange(requestUrl, "POST", lane, started, requestBodyJson, input.length, response);
         }
+    }
 
-        return new java.util.ArrayList<>();
+    /**
+     * Sends an authenticated GET request and reads the full response body
+     */
+    private ApiResponse getJson(String token, String requestUrl, RequestScheduler.Lane lane) throws IOException {
+        ApiCallEvent event = new SearchEvent();
+        acquireRequestSlot(lane);
+        event.begin();
+        long started = System.nanoTime();
+        ApiResponse response = null;
+        try {
+            response = recordResponse(event, readResponse(openConnection(token, requestUrl, "GET")));
+            return response;
+        } finally {
+            scheduler.release();
+            commitEvent(event, requestUrl, "GET", 0);
+            captureExchange(requestUrl, "GET", lane, started, null, 0, response);
+        }
     }
 
     /**
-     * Creates a revoke task for the given entitlement alias
+     * Takes a slot in this tenant's bulkhead in the given lane, waiting at most the request timeout for one to free up.
+     * A tenant that stays saturated fails fast with an IOException, which queues the request like an outage.
      */
-    public CompletableFuture<AccessRequestResult> createRevokeTask(Player player, String entitlementAlias) {
-        return tokenManager.getAccessToken().thenComposeAsync(token -> {
-            try {
-                // Step 1: Search for entitlement by alias
-                JsonObject entitlement = searchEntitlementByAlias(token, entitlementAlias);
-                if (entitlement == null) {
-                    return CompletableFuture.completedFuture(
-                        new AccessRequestResult(false, "Entitlement '" + entitlementAlias + "' not found", null));
-                }
+    private void acquireRequestSlot(RequestScheduler.Lane lane) throws IOException {
+        try {
+            if (!scheduler.acquire(lane, timeoutMillis)) {
+                throw new IOException("Tenant '" + tenant + "' already has " + maxConcurrentRequests + " requests in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a request slot", e);
+        }
+    }
 
-                String appId = entitlement.get("appId").getAsString();
-                String entitlementId = entitlement.get("id").getAsString();
+    private static ApiResponse recordResponse(ApiCallEvent event, ApiResponse response) {
+        event.statusCode = response.getStatusCode();
+        event.responseBytes = response.getByteCount();
+        return response;
+    }
 
-                // Step 2: Search for app user in this specific app by minecraft username
-                String appUserId = searchAppUserByUsername(token, appId, player.getName());
-                if (appUserId == null) {
-                    return CompletableFuture.completedFuture(
-                        new AccessRequestResult(false, "User '" + player.getName() + "' not found in app", null));
-                }
+    private void commitEvent(ApiCallEvent event, String requestUrl, String method, long requestBytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            // Record the path only, so query strings and the tenant host don't end up in recordings
+            String endpoint = requestUrl.startsWith(baseUrl) ? requestUrl.substring(baseUrl.length()) : requestUrl;
+            int query = endpoint.indexOf('?');
+            event.endpoint = query >= 0 ? endpoint.substring(0, query) : endpoint;
+            event.method = method;
+            event.requestBytes = requestBytes;
+            event.commit();
+        }
+    }
 
-                // Step 3: Check for existing open tasks
-                java.util.List<ExistingTask> existingTasks = searchExistingTasks(token, appUserId, entitlementId);
-                if (!existingTasks.isEmpty()) {
-                    // Found existing tasks - return info about them instead of creating a new one
-                    StringBuilder message = new StringBuilder("You have " + existingTasks.size() + " existing open task(s):");
-                    for (ExistingTask task : existingTasks) {
-                        message.append("\n • ").append(task.getDisplayName()).append(" (").append(task.getTaskType()).append(")");
-                    }
-                    // Return the first task's URL
-                    return CompletableFuture.completedFuture(
-                        new AccessRequestResult(false, message.toString(), existingTasks.get(0).getTaskUrl(), existingTasks));
-                }
+    /**
+     * Sends a recorded request as it was captured, for {@link TrafficReplay}
+     *
+     * @return The response status
+     */
+    int replayExchange(String token, String method, String endpoint, String requestBody, RequestScheduler.Lane lane) throws IOException {
+        String requestUrl = baseUrl + endpoint;
+        ApiResponse response = "GET".equals(method)
+            ? getJson(token, requestUrl, lane)
+            : postJson(token, requestUrl, requestBody != null ? requestBody : "{}", lane);
+        return response.getStatusCode();
+    }
 
-                // Step 4: Create revoke task (no existing tasks found)
-                return createRevokeTaskWithIds(token, player, appId, entitlementId, appUserId, entitlementAlias);
+    /**
+     * Hands the exchange to the traffic capture, if one is running. A null response records a failed call.
+     */
+    private void captureExchange(String requestUrl, String method, RequestScheduler.Lane lane, long startedNanos,
+                                 String requestBody, long requestBytes, ApiResponse response) {
+        if (trafficCapture == null) {
+            return;
+        }
+        String endpoint = requestUrl.startsWith(baseUrl) ? requestUrl.substring(baseUrl.length()) : requestUrl;
+        trafficCapture.record(tenant, method, endpoint, lane, response != null ? response.getStatusCode() : 0,
+                              startedNanos, System.nanoTime() - startedNanos, requestBody, requestBytes,
+                              response != null ? response.getBody() : null, response != null ? response.getByteCount() : 0);
+    }
 
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error in revoke task workflow: " + e.getMessage());
-                if (plugin.isDebugMode()) {
-                    e.printStackTrace();
-                }
-                return CompletableFuture.completedFuture(
-                    new AccessRequestResult(false, "Internal error: " + e.getMessage(), null));
+    private HttpURLConnection openConnection(String token, String requestUrl, String method) throws IOException {
+        URL url = new URL(requestUrl);
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+
+        conn.setRequestMethod(method);
+        conn.setRequestProperty("Accept", "application/json");
+        conn.setRequestProperty("Accept-Encoding", "gzip");
+        conn.setRequestProperty("Authorization", "Bearer " + token);
+        conn.setConnectTimeout(timeoutMillis);
+        conn.setReadTimeout(timeoutMillis);
+        return conn;
+    }
+
+    /**
+     * Reads the response body, decompressing it as it streams in and failing once it exceeds the size cap
+     */
+    private ApiResponse readResponse(HttpURLConnection conn) throws IOException {
+        int responseCode = conn.getResponseCode();
+        InputStream stream = responseCode < 400 ? conn.getInputStream() : conn.getErrorStream();
+        byte[] body = new byte[0];
+        if (stream != null) {
+            if ("gzip".equalsIgnoreCase(conn.getContentEncoding())) {
+                stream = new GZIPInputStream(stream);
+            }
+            try (InputStream is = stream) {
+                body = is.readNBytes(maxResponseBytes + 1);
+            }
+            if (body.length > maxResponseBytes) {
+                conn.disconnect();
+                throw new IOException("Response from " + conn.getURL().getPath() + " exceeded " + (maxResponseBytes / 1024) + " KB");
+            }
+        }
+        return new ApiResponse(responseCode, new String(body, StandardCharsets.UTF_8), body.length);
+    }
+
+    /**
+     * Whether an entitlement stored on a sign may still be used in place of resolving its alias: it was resolved within
+     * the entitlement cache TTL, the alias has not been invalidated since, and the catalog mirror does not disagree
+     */
+    public boolean isStoredEntitlementCurrent(String alias, ResolvedEntitlement stored, long resolvedAt) {
+        if (System.currentTimeMillis() - resolvedAt >= entitlementTtlMillis || resolvedAt <= cachesClearedAt) {
+            return false;
+        }
+        Long invalidatedAt = aliasInvalidations.get(alias);
+        if (invalidatedAt != null && resolvedAt <= invalidatedAt) {
+            return false;
+        }
+        ResolvedEntitlement known = catalog != null ? catalog.lookup(alias) : null;
+        return known == null || (known.getAppId().equals(stored.getAppId()) && known.getEntitlementId().equals(stored.getEntitlementId()));
+    }
+
+    /**
+     * Drops the cached entitlement for an alias so the next use resolves it again, including on signs that stored it
+     */
+    public void invalidateAlias(String alias) {
+        aliasInvalidations.put(alias, System.currentTimeMillis());
+        entitlementLoader.getCache().invalidate(alias);
+        if (sharedCache != null) {
+            sharedCache.remove(sharedEntitlementKey(alias));
+        }
+    }
+
+    /**
+     * Drops every cached app user, open task and tracked grant belonging to a player
+     *
+     * @return The number of cache entries removed
+     */
+    public int invalidatePlayer(UUID playerUuid, String playerName) {
+        java.util.Set<String> appUserIds = new java.util.HashSet<>();
+        appUserLoader.getCache().forEachLive((key, appUserId) -> {
+            if (key.getUsername().equalsIgnoreCase(playerName)) {
+                appUserIds.add(appUserId);
             }
         });
+
+        int removed = appUserLoader.getCache().invalidateIf(key -> key.getUsername().equalsIgnoreCase(playerName));
+        if (sharedCache != null) {
+            // The shared cache may know the player in apps this server has not looked them up in
+            String prefix = "app-user\n" + baseUrl + "\n";
+            String suffix = "\n" + playerName.toLowerCase();
+            sharedCache.removeIf(key -> key.startsWith(prefix) && key.endsWith(suffix));
+        }
+        if (appUserDirectory != null) {
+            removed += appUserDirectory.forget(playerUuid);
+        }
+        for (String appUserId : appUserIds) {
+            removed += openTaskIndex.invalidateAppUser(appUserId);
+        }
+        if (grantTracker != null) {
+            grantTracker.untrack(playerUuid);
+        }
+        return removed;
     }
 
     /**
-     * Creates a revoke task with the resolved IDs
+     * Empties the entitlement, app user and open task caches. The catalog mirror and grant view are kept.
      */
-    private CompletableFuture<AccessRequestResult> createRevokeTaskWithIds(String token, Player player,
-                                                                            String appId, String entitlementId,
-                                                                            String appUserId, String entitlementAlias) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String requestUrl = baseUrl + "/" + revokeTaskEndpoint;
-                URL url = new URL(requestUrl);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    public void clearCaches() {
+        cachesClearedAt = System.currentTimeMillis();
+        aliasInvalidations.clear();
+        entitlementLoader.getCache().clear();
+        appUserLoader.getCache().clear();
+        openTaskIndex.clear();
+        if (sharedCache != null) {
+            // Only this tenant's entries; other tenants and servers may share the file
+            String entitlementPrefix = "entitlement\n" + baseUrl + "\n";
+            String appUserPrefix = "app-user\n" + baseUrl + "\n";
+            sharedCache.removeIf(key -> key.startsWith(entitlementPrefix) || key.startsWith(appUserPrefix));
+        }
+    }
 
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setRequestProperty("Authorization", "Bearer " + token);
-                conn.setDoOutput(true);
+    /**
+     * Resolves many aliases in batches through the shared loader, warming its cache.
+     * Aliases the catalog mirror already knows are answered locally.
+     */
+    public CompletableFuture<Map<String, ResolvedEntitlement>> prefetchEntitlements(java.util.Collection<String> aliases) {
+        Map<String, ResolvedEntitlement> local = new HashMap<>();
+        List<String> remote = new java.util.ArrayList<>();
+        for (String alias : aliases) {
+            ResolvedEntitlement entitlement = catalog != null ? catalog.lookup(alias) : null;
+            if (entitlement != null) {
+                local.put(alias, entitlement);
+            } else {
+                remote.add(alias);
+            }
+        }
+        return entitlementLoader.loadAll(remote).thenApply(loaded -> {
+            local.putAll(loaded);
+            return local;
+        });
+    }
 
-                // Build revoke task request body according to API spec
-                JsonObject requestBody = new JsonObject();
-                requestBody.addProperty("appId", appId);
-                requestBody.addProperty("appEntitlementId", entitlementId);
-                requestBody.addProperty("appUserId", appUserId);
+    public TtlCache<String, ResolvedEntitlement> getEntitlementCache() {
+        return entitlementLoader.getCache();
+    }
 
-                // Add description with player info
-                requestBody.addProperty("description", "Access revocation from Minecraft player: " + player.getName());
+    public TtlCache<AppUserKey, String> getAppUserCache() {
+        return appUserLoader.getCache();
+    }
 
-                String requestBodyJson = gson.toJson(requestBody);
+    public OpenTaskIndex getOpenTaskIndex() {
+        return openTaskIndex;
+    }
 
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Revoke Task Request:");
-                    plugin.getLogger().info("[DEBUG]   URL: " + requestUrl);
-                    plugin.getLogger().info("[DEBUG]   Method: POST");
-                    plugin.getLogger().info("[DEBUG]   Body: " + requestBodyJson);
-                }
+    public String getTenant() {
+        return tenant;
+    }
 
-                // Send request
-                try (OutputStream os = conn.getOutputStream()) {
-                    byte[] input = requestBodyJson.getBytes(StandardCharsets.UTF_8);
-                    os.write(input, 0, input.length);
-                }
+    public String getBaseUrl() {
+        return baseUrl;
+    }
 
-                int responseCode = conn.getResponseCode();
+    /**
+     * The pool this tenant's blocking API work runs on
+     */
+    public ExecutorService getRequestExecutor() {
+        return requestExecutor;
+    }
 
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Revoke Task Response Code: " + responseCode);
-                }
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
 
-                if (responseCode == 200 || responseCode == 201) {
-                    String response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    public int getRequestsInFlight() {
+        return scheduler.getInFlight();
+    }
 
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Revoke Task Response: " + response);
-                    }
+    /**
+     * The scheduler handing out this tenant's request slots
+     */
+    public RequestScheduler getScheduler() {
+        return scheduler;
+    }
 
-                    plugin.getLogger().info("Successfully created revoke task for " + player.getName() +
-                                          " for entitlement: " + entitlementAlias);
+    public TokenManager getTokenManager() {
+        return tokenManager;
+    }
 
-                    // Parse response to get task ID and construct URL
-                    String taskUrl = extractTaskUrl(response);
-                    return new AccessRequestResult(true, "Revoke request submitted", taskUrl);
-                } else if (responseCode == 401) {
-                    // Token might be invalid, invalidate it
-                    tokenManager.invalidateToken();
-                    String errorMsg = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+    /**
+     * The local view of online players' grants, or null if grant feed tracking is disabled
+     */
+    public GrantTracker getGrantTracker() {
+        return grantTracker;
+    }
 
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().warning("[DEBUG] Auth Error Response: " + errorMsg);
-                    }
+    /**
+     * The local catalog mirror, or null if catalog sync is disabled
+     */
+    public EntitlementCatalog getCatalog() {
+        return catalog;
+    }
 
-                    plugin.getLogger().warning("Authentication failed when creating revoke request: " + errorMsg);
-                    return new AccessRequestResult(false, "Authentication failed. Please contact an admin.", null);
-                } else {
-                    String errorMsg = new String(conn.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+    private static class ApiResponse {
+        private final int statusCode;
+        private final String body;
+        private final int byteCount;
 
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().warning("[DEBUG] Error Response: " + errorMsg);
-                    }
+        private ApiResponse(int statusCode, String body, int byteCount) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.byteCount = byteCount;
+        }
 
-                    plugin.getLogger().warning("Failed to create revoke request. HTTP " + responseCode + ": " + errorMsg);
-                    return new AccessRequestResult(false, "API returned error code " + responseCode, null);
-                }
+        private int getByteCount() {
+            return byteCount;
+        }
 
-            } catch (IOException e) {
-                plugin.getLogger().severe("Error creating revoke request: " + e.getMessage());
-                if (plugin.isDebugMode()) {
-                    e.printStackTrace();
-                }
-                return new AccessRequestResult(false, "Network connection failed", null);
+        private int getStatusCode() {
+            return statusCode;
+        }
+
+        private String getBody() {
+            return body;
+        }
+    }
+
+    public static class ResolvedEntitlement {
+        private final String appId;
+        private final String entitlementId;
+
+        public ResolvedEntitlement(String appId, String entitlementId) {
+            this.appId = appId;
+            this.entitlementId = entitlementId;
+        }
+
+        public String getAppId() {
+            return appId;
+        }
+
+        public String getEntitlementId() {
+            return entitlementId;
+        }
+    }
+
+    public static class AppUserKey {
+        private final String appId;
+        private final String username;
+
+        public AppUserKey(String appId, String username) {
+            this.appId = appId;
+            this.username = username;
+        }
+
+        public String getAppId() {
+            return appId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
             }
-        });
+            if (!(o instanceof AppUserKey)) {
+                return false;
+            }
+            AppUserKey other = (AppUserKey) o;
+            return appId.equals(other.appId) && username.equalsIgnoreCase(other.username);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(appId, username.toLowerCase());
+        }
+    }
+
+    public enum AccessStatus {
+        UNKNOWN,
+        NOT_GRANTED,
+        PENDING,
+        GRANTED
+    }
+
+    public enum TaskAction {
+        GRANT("grant", "Grant"),
+        REVOKE("revoke", "Revoke");
+
+        private final String name;
+        private final String displayName;
+
+        TaskAction(String name, String displayName) {
+            this.name = name;
+            this.displayName = displayName;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
     }
 
     public static class ExistingTask {
         private final String taskUrl;
         private final String displayName;
         private final String taskType;
+        private final String idempotencyKey;
 
         public ExistingTask(String taskUrl, String displayName, String taskType) {
+            this(taskUrl, displayName, taskType, null);
+        }
+
+        public ExistingTask(String taskUrl, String displayName, String taskType, String idempotencyKey) {
             this.taskUrl = taskUrl;
             this.displayName = displayName;
             this.taskType = taskType;
+            this.idempotencyKey = idempotencyKey;
         }
 
         public String getTaskUrl() {
@@ -561,6 +1595,13 @@ public class C1ApiClient {
         public String getTaskType() {
             return taskType;
         }
+
+        /**
+         * The idempotency key the task was created with, or null if unknown
+         */
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
     }
 
     public static class AccessRequestResult {
@@ -568,16 +1609,47 @@ public class C1ApiClient {
         private final String message;
         private final String taskUrl;
         private final java.util.List<ExistingTask> existingTasks;
+        private final boolean retryable;
+        private final boolean queued;
 
         public AccessRequestResult(boolean success, String message, String taskUrl) {
             this(success, message, taskUrl, null);
         }
 
         public AccessRequestResult(boolean success, String message, String taskUrl, java.util.List<ExistingTask> existingTasks) {
+            this(success, message, taskUrl, existingTasks, false, false);
+        }
+
+        private AccessRequestResult(boolean success, String message, String taskUrl, java.util.List<ExistingTask> existingTasks,
+                                    boolean retryable, boolean queued) {
             this.success = success;
             this.message = message;
             this.taskUrl = taskUrl;
             this.existingTasks = existingTasks;
+            this.retryable = retryable;
+            this.queued = queued;
+        }
+
+        /**
+         * A failure caused by ConductorOne being unreachable or overloaded, which may succeed later
+         */
+        public static AccessRequestResult retryableFailure(String message) {
+            return new AccessRequestResult(false, message, null, null, true, false);
+        }
+
+        /**
+         * A request that was accepted into the outbound queue instead of being submitted
+         */
+        public static AccessRequestResult queued(String message) {
+            return new AccessRequestResult(false, message, null, null, false, true);
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+
+        public boolean isQueued() {
+            return queued;
         }
 
         public boolean isSuccess() {
@@ -0,0 +1,117 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.JsonObject;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local mirror of the requestable entitlement catalog, keyed by alias.
+ * Each refresh pages through the catalog (or every entitlement when no catalog ID is configured)
+ * into a fresh map which then replaces the previous one atomically, so lookups never see a partial sync.
+ */
+public class EntitlementCatalog {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final C1ApiClient apiClient;
+    private final SignAccessRequestPlugin plugin;
+    private final String catalogId;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Map<String, C1ApiClient.ResolvedEntitlement> entitlementsByAlias;
+
+    public EntitlementCatalog(C1ApiClient apiClient, SignAccessRequestPlugin plugin, String catalogId) {
+        this.apiClient = apiClient;
+        this.plugin = plugin;
+        this.catalogId = catalogId == null || catalogId.isBlank() ? null : catalogId;
+    }
+
+    /**
+     * Pages through the catalog and swaps in the new alias map. Blocks, so call it off the main thread.
+     */
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            String token = apiClient.getTokenManager().getAccessToken().join();
+            Map<String, C1ApiClient.ResolvedEntitlement> refreshed = new HashMap<>();
+            JsonObject searchBody = new JsonObject();
+            C1ApiClient.addEmptyExpandMask(searchBody);
+
+            try (SearchPages pages = catalogId != null
+                    ? apiClient.listRequestableEntitlements(token, catalogId, PAGE_SIZE)
+                    : apiClient.search(token, "/api/v1/search/entitlements", searchBody, PAGE_SIZE, Integer.MAX_VALUE,
+                                       RequestScheduler.Lane.BACKGROUND)) {
+                while (pages.hasNext()) {
+                    JsonObject view = pages.next();
+                    if (!view.has("appEntitlement")) {
+                        continue;
+                    }
+                    JsonObject entitlement = view.getAsJsonObject("appEntitlement");
+                    if (!entitlement.has("alias") || entitlement.get("alias").getAsString().isEmpty()) {
+                        continue;
+                    }
+                    refreshed.put(entitlement.get("alias").getAsString(), new C1ApiClient.ResolvedEntitlement(
+                        entitlement.get("appId").getAsString(), entitlement.get("id").getAsString()));
+                }
+
+                if (!pages.isComplete()) {
+                    plugin.getLogger().warning("Entitlement catalog sync failed; keeping the previous catalog");
+                    return;
+                }
+
+                entitlementsByAlias = Collections.unmodifiableMap(refreshed);
+
+                plugin.getLogger().info("Entitlement catalog synced: " + refreshed.size() + " aliases in " + pages.getPageCount() + " page(s)");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Entitlement catalog sync failed: " + e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Takes over the alias map of another mirror of the same catalog, so a reload does not start empty
+     */
+    public void copyFrom(EntitlementCatalog other) {
+        if (Objects.equals(catalogId, other.catalogId)) {
+            entitlementsByAlias = other.entitlementsByAlias;
+        }
+    }
+
+    /**
+     * Looks up an alias in the local catalog, or returns null if it is unknown or the catalog has not loaded yet
+     */
+    public C1ApiClient.ResolvedEntitlement lookup(String alias) {
+        Map<String, C1ApiClient.ResolvedEntitlement> current = entitlementsByAlias;
+        return current != null ? current.get(alias) : null;
+    }
+
+    /**
+     * Whether at least one full sync has completed
+     */
+    public boolean isLoaded() {
+        return entitlementsByAlias != null;
+    }
+
+    /**
+     * Whether the alias is known to the catalog. Always true until the catalog has loaded.
+     */
+    public boolean isKnownAlias(String alias) {
+        Map<String, C1ApiClient.ResolvedEntitlement> current = entitlementsByAlias;
+        return current == null || current.containsKey(alias);
+    }
+
+    public int size() {
+        Map<String, C1ApiClient.ResolvedEntitlement> current = entitlementsByAlias;
+        return current != null ? current.size() : 0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local view of the current grants held by the app users of online players.
+ * An app user is seeded with a one-off entitlement search the first time a player uses a sign,
+ * and is then kept current by tailing /api/v1/grants/feed from a timestamp cursor.
+ */
+public class GrantTracker {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final C1ApiClient apiClient;
+    private final SignAccessRequestPlugin plugin;
+
+    // appUserId -> granted entitlement IDs; present only once the app user has been seeded
+    private final Map<String, Set<String>> grantsByAppUser = new ConcurrentHashMap<>();
+    // appUserId -> appId for every tracked app user
+    private final Map<String, String> trackedAppUsers = new ConcurrentHashMap<>();
+    // player -> app users tracked on their behalf
+    private final Map<UUID, Set<String>> appUsersByPlayer = new ConcurrentHashMap<>();
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    private volatile Instant cursor = Instant.now();
+
+    public GrantTracker(C1ApiClient apiClient, SignAccessRequestPlugin plugin) {
+        this.apiClient = apiClient;
+        this.plugin = plugin;
+    }
+
+    /**
+     * Whether the app user currently holds the entitlement, or null if the app user has not been seeded yet
+     */
+    public Boolean isGranted(String appUserId, String entitlementId) {
+        Set<String> grants = grantsByAppUser.get(appUserId);
+        return grants != null ? grants.contains(entitlementId) : null;
+    }
+
+    /**
+     * Starts tracking an app user for an online player, seeding its grants in the background on first use
+     */
+    public void track(UUID playerUuid, String appId, String appUserId) {
+        appUsersByPlayer.computeIfAbsent(playerUuid, uuid -> ConcurrentHashMap.newKeySet()).add(appUserId);
+        if (trackedAppUsers.putIfAbsent(appUserId, appId) == null) {
+            CompletableFuture.runAsync(() -> seed(appUserId), apiClient.getRequestExecutor());
+        }
+    }
+
+    /**
+     * Stops tracking every app user belonging to a player who went offline
+     */
+    public void untrack(UUID playerUuid) {
+        Set<String> appUserIds = appUsersByPlayer.remove(playerUuid);
+        if (appUserIds == null) {
+            return;
+        }
+        for (String appUserId : appUserIds) {
+            boolean stillUsed = appUsersByPlayer.values().stream().anyMatch(ids -> ids.contains(appUserId));
+            if (!stillUsed) {
+                trackedAppUsers.remove(appUserId);
+                grantsByAppUser.remove(appUserId);
+            }
+        }
+    }
+
+    /**
+     * Takes over the tracked app users, their grants and the feed cursor of another tracker
+     */
+    public void copyFrom(GrantTracker other) {
+        trackedAppUsers.putAll(other.trackedAppUsers);
+        grantsByAppUser.putAll(other.grantsByAppUser);
+        appUsersByPlayer.putAll(other.appUsersByPlayer);
+        cursor = other.cursor;
+    }
+
+    public int getTrackedAppUserCount() {
+        return trackedAppUsers.size();
+    }
+
+    /**
+     * Loads the full set of current grants for one app user
+     */
+    private void seed(String appUserId) {
+        try {
+            String token = apiClient.getTokenManager().getAccessToken().join();
+            Set<String> grants = ConcurrentHashMap.newKeySet();
+
+            JsonObject requestBody = new JsonObject();
+            JsonArray appUserIds = new JsonArray();
+            appUserIds.add(appUserId);
+            requestBody.add("appUserIds", appUserIds);
+            C1ApiClient.addEmptyExpandMask(requestBody);
+
+            try (SearchPages pages = apiClient.search(token, "/api/v1/search/entitlements", requestBody, PAGE_SIZE,
+                                                      Integer.MAX_VALUE, RequestScheduler.Lane.BACKGROUND)) {
+                while (pages.hasNext()) {
+                    JsonObject view = pages.next();
+                    if (view.has("appEntitlement")) {
+                        grants.add(view.getAsJsonObject("appEntitlement").get("id").getAsString());
+                    }
+                }
+                if (!pages.isComplete()) {
+                    trackedAppUsers.remove(appUserId);
+                    return;
+                }
+            }
+
+            if (trackedAppUsers.containsKey(appUserId)) {
+                grantsByAppUser.put(appUserId, grants);
+            }
+
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] Seeded " + grants.size() + " grant(s) for app user " + appUserId);
+            }
+        } catch (Exception e) {
+            trackedAppUsers.remove(appUserId);
+            plugin.getLogger().warning("Failed to load grants for app user " + appUserId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads grant feed events since the cursor and applies them. Blocks, so call it off the main thread.
+     */
+    public void poll() {
+        if (trackedAppUsers.isEmpty() || !polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            String token = apiClient.getTokenManager().getAccessToken().join();
+            Instant after = cursor;
+            Instant newest = after;
+            int applied = 0;
+
+            JsonArray appUserRefs = new JsonArray();
+            trackedAppUsers.forEach((appUserId, appId) -> {
+                JsonObject ref = new JsonObject();
+                ref.addProperty("appId", appId);
+                ref.addProperty("id", appUserId);
+                appUserRefs.add(ref);
+            });
+
+            JsonObject requestBody = new JsonObject();
+            requestBody.add("appUserRefs", appUserRefs);
+            requestBody.addProperty("after", after.toString());
+
+            try (SearchPages pages = apiClient.search(token, "/api/v1/grants/feed", requestBody, PAGE_SIZE,
+                                                      Integer.MAX_VALUE, RequestScheduler.Lane.BACKGROUND)) {
+                while (pages.hasNext()) {
+                    JsonObject view = pages.next();
+                    if (!view.has("feed")) {
+                        continue;
+                    }
+                    JsonObject event = view.getAsJsonObject("feed");
+                    if (applyEvent(event)) {
+                        applied++;
+                    }
+                    if (event.has("date")) {
+                        Instant date = Instant.parse(event.get("date").getAsString());
+                        if (date.isAfter(newest)) {
+                            newest = date;
+                        }
+                    }
+                }
+                // Leave the cursor where it was if a page failed, so the missed events are read again next time
+                if (!pages.isComplete()) {
+                    return;
+                }
+            }
+
+            cursor = newest;
+
+            if (plugin.isDebugMode() && applied > 0) {
+                plugin.getLogger().info("[DEBUG] Applied " + applied + " grant feed event(s)");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Grant feed poll failed: " + e.getMessage());
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private boolean applyEvent(JsonObject event) {
+        if (!event.has("appUserId") || !event.has("appEntitlementId") || !event.has("eventType")) {
+            return false;
+        }
+
+        Set<String> grants = grantsByAppUser.get(event.get("appUserId").getAsString());
+        if (grants == null) {
+            return false;
+        }
+
+        String entitlementId = event.get("appEntitlementId").getAsString();
+        switch (event.get("eventType").getAsString()) {
+            case "GRANT_EVENT_TYPE_ADDED":
+                return grants.add(entitlementId);
+            case "GRANT_EVENT_TYPE_REMOVED":
+                return grants.remove(entitlementId);
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.logansaso.signaccessrequest.util.TtlCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local index of open tasks keyed by (appUserId, entitlementId).
+ * Filled from task creation responses and existing-task searches so most
+ * duplicate-request checks can be answered without calling the API.
+ * Only known open tasks are indexed; a miss always falls back to a remote search.
+ */
+public class OpenTaskIndex {
+
+    private final TtlCache<String, List<C1ApiClient.ExistingTask>> tasks;
+
+    public OpenTaskIndex(long ttlMillis) {
+        this.tasks = new TtlCache<>(ttlMillis);
+    }
+
+    /**
+     * Gets the open tasks known for this app user and entitlement, or null if nothing is indexed
+     */
+    public List<C1ApiClient.ExistingTask> get(String appUserId, String entitlementId) {
+        return tasks.get(key(appUserId, entitlementId));
+    }
+
+    /**
+     * Same as {@link #get} but without affecting cache statistics
+     */
+    public List<C1ApiClient.ExistingTask> peek(String appUserId, String entitlementId) {
+        return tasks.peek(key(appUserId, entitlementId));
+    }
+
+    /**
+     * Records the result of an existing-task search, replacing whatever was indexed before
+     */
+    public void recordSearch(String appUserId, String entitlementId, List<C1ApiClient.ExistingTask> openTasks) {
+        if (openTasks.isEmpty()) {
+            tasks.invalidate(key(appUserId, entitlementId));
+        } else {
+            tasks.put(key(appUserId, entitlementId), List.copyOf(openTasks));
+        }
+    }
+
+    /**
+     * Records a task this plugin just created
+     */
+    public void recordCreated(String appUserId, String entitlementId, C1ApiClient.ExistingTask task) {
+        String key = key(appUserId, entitlementId);
+        List<C1ApiClient.ExistingTask> openTasks = new ArrayList<>();
+        List<C1ApiClient.ExistingTask> known = tasks.get(key);
+        if (known != null) {
+            openTasks.addAll(known);
+        }
+        openTasks.add(task);
+        tasks.put(key, List.copyOf(openTasks));
+    }
+
+    /**
+     * Carries over every open task known to another index
+     */
+    public void copyFrom(OpenTaskIndex other) {
+        tasks.copyFrom(other.tasks);
+    }
+
+    public void invalidate(String appUserId, String entitlementId) {
+        tasks.invalidate(key(appUserId, entitlementId));
+    }
+
+    /**
+     * Forgets every open task indexed for an app user
+     */
+    public int invalidateAppUser(String appUserId) {
+        return tasks.invalidateIf(key -> key.startsWith(appUserId + ":"));
+    }
+
+    public void clear() {
+        tasks.clear();
+    }
+
+    public TtlCache<String, List<C1ApiClient.ExistingTask>> getCache() {
+        return tasks;
+    }
+
+    private static String key(String appUserId, String entitlementId) {
+        return appUserId + ":" + entitlementId;
+    }
+}
@@ -0,0 +1,291 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.logansaso.signaccessrequest.ServiceRegistry;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.util.SignValidator;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Durable queue of grant and revoke requests accepted while ConductorOne was unreachable.
+ * Requests are kept in insertion order, deduplicated per (tenant, player, entitlement, action), and written
+ * to disk on every change so they survive restarts. A drainer replays them in small batches on each
+ * request's tenant once that tenant's health check passes, and skips a tenant as soon as it starts failing again.
+ */
+public class OutboundQueue {
+
+    private final SignAccessRequestPlugin plugin;
+    private final File file;
+    private final Gson gson = new Gson();
+    private final long maxAgeMillis;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // dedup key -> request, in the order requests were queued
+    private final Map<String, QueuedRequest> requests = new LinkedHashMap<>();
+
+    public OutboundQueue(SignAccessRequestPlugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+        this.maxAgeMillis = Math.max(1, plugin.getConfig().getLong("queue.max-age-hours", 24)) * 3600_000L;
+    }
+
+    /**
+     * Loads queued requests left over from a previous run
+     */
+    public synchronized void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            List<QueuedRequest> loaded = gson.fromJson(reader, new TypeToken<List<QueuedRequest>>() { }.getType());
+            if (loaded != null) {
+                for (QueuedRequest request : loaded) {
+                    requests.put(request.getDedupKey(), request);
+                }
+            }
+            if (!requests.isEmpty()) {
+                plugin.getLogger().info("Loaded " + requests.size() + " queued access request(s)");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load the outbound request queue: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues a request unless the same player already has one queued for this entitlement and action
+     *
+     * @return true if the request was added, false if it was a duplicate
+     */
+    public synchronized boolean enqueue(QueuedRequest request) {
+        if (requests.putIfAbsent(request.getDedupKey(), request) != null) {
+            return false;
+        }
+        save();
+        plugin.getLogger().info("Queued " + request.getAction().getName() + " request for " + request.getPlayerName() +
+                                " (" + request.getAlias() + ") until ConductorOne is reachable");
+        return true;
+    }
+
+    public synchronized int size() {
+        return requests.size();
+    }
+
+    /**
+     * Replays up to batchSize queued requests on the tenants that are healthy. Blocks, so call it off the main thread.
+     */
+    public void drain(ServiceRegistry.Snapshot services, int batchSize) {
+        if (size() == 0 || !draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            dropExpired();
+            if (size() == 0) {
+                return;
+            }
+
+            // tenant -> whether it may be drained this round, checked on first use
+            Map<String, Boolean> healthy = new HashMap<>();
+            int submitted = 0;
+            for (QueuedRequest request : peek(batchSize)) {
+                C1ApiClient apiClient = services.getApiClient(request.getTenant());
+                if (apiClient == null) {
+                    continue;
+                }
+                if (!healthy.computeIfAbsent(request.getTenant(), tenant -> isHealthy(apiClient))) {
+                    continue;
+                }
+
+                C1ApiClient.AccessRequestResult result;
+                try {
+                    result = apiClient.replayQueued(request).join();
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Queued request for " + request.getPlayerName() + " failed again: " + e.getMessage());
+                    healthy.put(request.getTenant(), false);
+                    continue;
+                }
+
+                // Still failing or rate limited: keep this tenant's requests queued for the next drain
+                if (result.isRetryable()) {
+                    healthy.put(request.getTenant(), false);
+                    continue;
+                }
+
+                remove(request);
+                submitted++;
+                notifyPlayer(request, result);
+            }
+
+            if (submitted > 0) {
+                plugin.getLogger().info("Submitted " + submitted + " queued access request(s), " + size() + " remaining");
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private boolean isHealthy(C1ApiClient apiClient) {
+        boolean healthy = apiClient.checkHealth();
+        if (!healthy && plugin.isDebugMode()) {
+            plugin.getLogger().info("[DEBUG] ConductorOne health check failed for tenant '" + apiClient.getTenant() +
+                                    "', its queued requests stay queued");
+        }
+        return healthy;
+    }
+
+    private synchronized List<QueuedRequest> peek(int count) {
+        List<QueuedRequest> batch = new ArrayList<>();
+        for (QueuedRequest request : requests.values()) {
+            if (batch.size() >= count) {
+                break;
+            }
+            batch.add(request);
+        }
+        return batch;
+    }
+
+    private synchronized void remove(QueuedRequest request) {
+        if (requests.remove(request.getDedupKey()) != null) {
+            save();
+        }
+    }
+
+    private synchronized void dropExpired() {
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        int before = requests.size();
+        requests.values().removeIf(request -> request.getQueuedAt() < cutoff);
+        if (requests.size() != before) {
+            plugin.getLogger().warning("Dropped " + (before - requests.size()) + " queued access request(s) older than the maximum age");
+            save();
+        }
+    }
+
+    /**
+     * Writes the queue to a temporary file and moves it into place, so a crash never leaves a torn file
+     */
+    private void save() {
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            File temp = new File(file.getPath() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(new ArrayList<>(requests.values()), writer);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to save the outbound request queue: " + e.getMessage());
+        }
+    }
+
+    private void notifyPlayer(QueuedRequest request, C1ApiClient.AccessRequestResult result) {
+        Player player = plugin.getServer().getPlayer(request.getPlayerUuid());
+        if (player == null) {
+            return;
+        }
+
+        plugin.getTaskScheduler().runForEntity(player, () -> {
+            if (result.isSuccess()) {
+                player.sendMessage(Component.text("✓ Your queued " + request.getAction().getName() + " request for '" +
+                                                  request.getAlias() + "' has been submitted!")
+                    .color(NamedTextColor.GREEN));
+                if (result.getTaskUrl() != null) {
+                    player.sendMessage(Component.text("   View your request: ")
+                        .color(NamedTextColor.GRAY)
+                        .append(Component.text(result.getTaskUrl())
+                            .color(NamedTextColor.AQUA)
+                            .clickEvent(net.kyori.adventure.text.event.ClickEvent.openUrl(result.getTaskUrl()))));
+                }
+            } else {
+                player.sendMessage(Component.text("ℹ Your queued " + request.getAction().getName() + " request for '" +
+                                                  request.getAlias() + "' was not submitted")
+                    .color(NamedTextColor.YELLOW));
+                player.sendMessage(Component.text("   " + result.getMessage())
+                    .color(NamedTextColor.GRAY));
+            }
+        });
+    }
+
+    /**
+     * A request waiting to be submitted. Stored as JSON, so it only holds plain values.
+     */
+    public static class QueuedRequest {
+        private final String tenant;
+        private final String playerUuid;
+        private final String playerName;
+        private final String alias;
+        private final String appId;
+        private final String entitlementId;
+        private final String action;
+        private final long queuedAt;
+
+        public QueuedRequest(String tenant, UUID playerUuid, String playerName, String alias,
+                             C1ApiClient.ResolvedEntitlement entitlement, C1ApiClient.TaskAction action) {
+            this.tenant = tenant;
+            this.playerUuid = playerUuid.toString();
+            this.playerName = playerName;
+            this.alias = alias;
+            this.appId = entitlement != null ? entitlement.getAppId() : null;
+            this.entitlementId = entitlement != null ? entitlement.getEntitlementId() : null;
+            this.action = action.name();
+            this.queuedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * The tenant to submit the request to. Requests queued before tenants existed go to the default tenant.
+         */
+        public String getTenant() {
+            return tenant != null ? tenant : SignValidator.DEFAULT_TENANT;
+        }
+
+        public UUID getPlayerUuid() {
+            return UUID.fromString(playerUuid);
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        /**
+         * The entitlement resolved before the request was queued, or null if it still has to be resolved
+         */
+        public C1ApiClient.ResolvedEntitlement getEntitlement() {
+            return appId != null && entitlementId != null ? new C1ApiClient.ResolvedEntitlement(appId, entitlementId) : null;
+        }
+
+        public C1ApiClient.TaskAction getAction() {
+            return C1ApiClient.TaskAction.valueOf(action);
+        }
+
+        public long getQueuedAt() {
+            return queuedAt;
+        }
+
+        private String getDedupKey() {
+            return getTenant() + ":" + playerUuid + ":" + alias + ":" + action;
+        }
+    }
+}
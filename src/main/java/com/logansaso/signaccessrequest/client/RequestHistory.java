@@ -0,0 +1,233 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent per-player log of the access requests made through this plugin, newest first and capped per player,
+ * so players and staff can find an earlier task without clicking the sign again. Read locally only; changes are
+ * written to disk off the main thread by {@link #saveIfDirty()}.
+ */
+public class RequestHistory {
+
+    /**
+     * How a request ended
+     */
+    public enum Outcome {
+        CREATED,
+        EXISTING,
+        QUEUED,
+        FAILED
+    }
+
+    private final SignAccessRequestPlugin plugin;
+    private final File file;
+    private final int maxPerPlayer;
+    private final Gson gson = new Gson();
+    private final Map<UUID, PlayerHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public RequestHistory(SignAccessRequestPlugin plugin, File file, int maxPerPlayer) {
+        this.plugin = plugin;
+        this.file = file;
+        this.maxPerPlayer = Math.max(1, maxPerPlayer);
+    }
+
+    /**
+     * Loads the history saved by a previous run
+     */
+    public void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Map<String, PlayerHistory> loaded = gson.fromJson(reader, new TypeToken<Map<String, PlayerHistory>>() { }.getType());
+            if (loaded != null) {
+                loaded.forEach((playerUuid, history) -> {
+                    if (history.entries == null) {
+                        return;
+                    }
+                    // The cap may have been lowered since the file was written
+                    while (history.entries.size() > maxPerPlayer) {
+                        history.entries.remove(history.entries.size() - 1);
+                    }
+                    histories.put(UUID.fromString(playerUuid), history);
+                });
+            }
+            if (!histories.isEmpty()) {
+                plugin.getLogger().info("Loaded request history for " + histories.size() + " player(s)");
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load the request history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records the outcome of a request, dropping the player's oldest entry once they are over the cap
+     */
+    public void record(UUID playerUuid, String playerName, String tenant, String alias, C1ApiClient.TaskAction action,
+                       C1ApiClient.AccessRequestResult result) {
+        Entry entry = new Entry();
+        entry.time = System.currentTimeMillis();
+        entry.tenant = tenant;
+        entry.alias = alias;
+        entry.action = action.getName();
+        if (result.isSuccess()) {
+            entry.outcome = Outcome.CREATED;
+        } else if (result.hasExistingTasks()) {
+            entry.outcome = Outcome.EXISTING;
+        } else if (result.isQueued()) {
+            entry.outcome = Outcome.QUEUED;
+        } else {
+            entry.outcome = Outcome.FAILED;
+            entry.message = result.getMessage();
+        }
+        entry.taskUrl = result.getTaskUrl();
+
+        PlayerHistory history = histories.computeIfAbsent(playerUuid, uuid -> new PlayerHistory());
+        synchronized (history) {
+            history.name = playerName;
+            history.entries.add(0, entry);
+            if (history.entries.size() > maxPerPlayer) {
+                history.entries.remove(history.entries.size() - 1);
+            }
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Gets a player's requests, newest first, or an empty list if they have none
+     */
+    public List<Entry> get(UUID playerUuid) {
+        PlayerHistory history = histories.get(playerUuid);
+        if (history == null) {
+            return List.of();
+        }
+        synchronized (history) {
+            return List.copyOf(history.entries);
+        }
+    }
+
+    /**
+     * Finds the player who last made a request under a name (ignoring case), or null if nobody has
+     */
+    public UUID findByName(String playerName) {
+        for (Map.Entry<UUID, PlayerHistory> entry : histories.entrySet()) {
+            if (playerName.equalsIgnoreCase(entry.getValue().name)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return histories.size();
+    }
+
+    /**
+     * Writes the history if it changed since the last save. Blocks on disk, so call it off the main thread.
+     */
+    public synchronized void saveIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        Map<String, PlayerHistory> snapshot = new HashMap<>();
+        histories.forEach((playerUuid, history) -> {
+            synchronized (history) {
+                PlayerHistory copy = new PlayerHistory();
+                copy.name = history.name;
+                copy.entries.addAll(history.entries);
+                snapshot.put(playerUuid.toString(), copy);
+            }
+        });
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            File temp = new File(file.getPath() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            plugin.getLogger().warning("Failed to save the request history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The requests of one player, as written to and read from the history file
+     */
+    private static final class PlayerHistory {
+        private String name;
+        private List<Entry> entries = new ArrayList<>();
+    }
+
+    /**
+     * One past request
+     */
+    public static final class Entry {
+        private long time;
+        private String tenant;
+        private String alias;
+        private String action;
+        private Outcome outcome;
+        private String taskUrl;
+        private String message;
+
+        /**
+         * When the request finished, in epoch milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * The created or already open task, or null if there is none
+         */
+        public String getTaskUrl() {
+            return taskUrl;
+        }
+
+        /**
+         * Why the request failed, or null if it did not
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.logansaso.signaccessrequest.client;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out a tenant's request slots by priority. Callers that find every slot taken wait in their lane, and each
+ * freed slot goes straight to the next waiter, picked by smooth weighted round robin over the lanes with waiters.
+ * Revokes win most slots under contention without shutting the other lanes out, a waiter older than the maximum
+ * wait is served first whatever its lane, and a few slots can be held back for revokes alone, so a revoke never
+ * waits for a grant to finish on a tenant saturated with grants.
+ */
+public class RequestScheduler {
+
+    /**
+     * Lanes from most to least urgent
+     */
+    public enum Lane {
+        REVOKE,
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private final int slots;
+    private final int revokeReservedSlots;
+    private final int[] weights;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Lane, ArrayDeque<Waiter>> waiting = new EnumMap<>(Lane.class);
+    private final int[] credits = new int[Lane.values().length];
+    private int inFlight;
+
+    /**
+     * @param slots How many requests may be in flight at once
+     * @param revokeReservedSlots How many of those slots only revokes may take
+     * @param weights The share of contended slots each lane gets, indexed by lane ordinal
+     * @param maxWaitMillis How long a waiter may wait before it is served ahead of every lane
+     */
+    public RequestScheduler(int slots, int revokeReservedSlots, int[] weights, long maxWaitMillis) {
+        this.slots = Math.max(1, slots);
+        this.revokeReservedSlots = Math.max(0, Math.min(revokeReservedSlots, this.slots - 1));
+        this.weights = new int[Lane.values().length];
+        for (Lane lane : Lane.values()) {
+            this.weights[lane.ordinal()] = Math.max(1, weights[lane.ordinal()]);
+            waiting.put(lane, new ArrayDeque<>());
+        }
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, maxWaitMillis));
+    }
+
+    /**
+     * Takes a slot in the given lane, waiting at most the timeout for one to be handed over
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean acquire(Lane lane, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            // Uncontended: start right away
+            if (canStart(lane) && !hasStartableWaiters()) {
+                inFlight++;
+                return true;
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiting.get(lane).add(waiter);
+            dispatch();
+
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                while (!waiter.granted) {
+                    if (remainingNanos <= 0) {
+                        waiting.get(lane).remove(waiter);
+                        return false;
+                    }
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // Handed a slot while being interrupted: pass it on
+                    inFlight--;
+                    dispatch();
+                } else {
+                    waiting.get(lane).remove(waiter);
+                }
+                throw e;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a slot taken by {@link #acquire(Lane, long)}, handing it to the next waiter if there is one
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands free slots to waiters until no waiter can start
+     */
+    private void dispatch() {
+        Lane lane;
+        while ((lane = pickLane()) != null) {
+            Waiter waiter = waiting.get(lane).poll();
+            waiter.granted = true;
+            inFlight++;
+            waiter.condition.signal();
+        }
+    }
+
+    private Lane pickLane() {
+        // Starvation protection: the longest waiter goes first once it has waited too long
+        long now = System.nanoTime();
+        Lane oldest = null;
+        long oldestSince = Long.MAX_VALUE;
+        int totalWeight = 0;
+        for (Lane lane : Lane.values()) {
+            Waiter head = waiting.get(lane).peek();
+            if (head == null || !canStart(lane)) {
+                continue;
+            }
+            totalWeight += weights[lane.ordinal()];
+            if (head.since < oldestSince) {
+                oldestSince = head.since;
+                oldest = lane;
+            }
+        }
+        if (oldest == null) {
+            return null;
+        }
+        if (now - oldestSince >= maxWaitNanos) {
+            return oldest;
+        }
+
+        // Smooth weighted round robin: every eligible lane earns its weight, the richest lane is served and pays the total
+        Lane picked = null;
+        for (Lane lane : Lane.values()) {
+            if (waiting.get(lane).isEmpty() || !canStart(lane)) {
+                continue;
+            }
+            credits[lane.ordinal()] += weights[lane.ordinal()];
+            if (picked == null || credits[lane.ordinal()] > credits[picked.ordinal()]) {
+                picked = lane;
+            }
+        }
+        credits[picked.ordinal()] -= totalWeight;
+        return picked;
+    }
+
+    private boolean canStart(Lane lane) {
+        return inFlight < (lane == Lane.REVOKE ? slots : slots - revokeReservedSlots);
+    }
+
+    private boolean hasStartableWaiters() {
+        for (Lane lane : Lane.values()) {
+            if (!waiting.get(lane).isEmpty() && canStart(lane)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * How many callers are waiting in a lane right now
+     */
+    public int getWaiting(Lane lane) {
+        lock.lock();
+        try {
+            return waiting.get(lane).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter {
+        private final Condition condition;
+        private final long since = System.nanoTime();
+        private boolean granted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
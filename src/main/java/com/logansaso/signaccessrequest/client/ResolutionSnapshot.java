@@ -0,0 +1,163 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.logansaso.signaccessrequest.ServiceRegistry;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.util.TtlCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves the entitlement and app user resolution caches to a compact binary file and restores them on startup,
+ * so the first players after a restart don't all pay for fresh searches. Entries keep their original expiry
+ * and are only restored into a tenant with the same base URL.
+ */
+public class ResolutionSnapshot {
+
+    private static final int MAGIC = 0x43315253; // "C1RS"
+    private static final int FORMAT_VERSION = 1;
+
+    private final SignAccessRequestPlugin plugin;
+    private final File file;
+
+    public ResolutionSnapshot(SignAccessRequestPlugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    /**
+     * Writes every live resolution of every tenant. Written to a temporary file and moved into place,
+     * so a crash never leaves a torn snapshot.
+     */
+    public synchronized void save(ServiceRegistry.Snapshot services) {
+        File temp = new File(file.getPath() + ".tmp");
+        int entries = 0;
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(services.getApiClients().size());
+                for (C1ApiClient apiClient : services.getApiClients()) {
+                    out.writeUTF(apiClient.getBaseUrl());
+                    entries += writeEntitlements(out, apiClient);
+                    entries += writeAppUsers(out, apiClient);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] Saved " + entries + " cached resolution(s) to " + file.getName());
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to save the resolution cache snapshot: " + e.getMessage());
+        }
+    }
+
+    private static int writeEntitlements(DataOutputStream out, C1ApiClient apiClient) throws IOException {
+        List<Entry<String, C1ApiClient.ResolvedEntitlement>> entries = liveEntries(apiClient.getEntitlementCache());
+        out.writeInt(entries.size());
+        for (Entry<String, C1ApiClient.ResolvedEntitlement> entry : entries) {
+            out.writeUTF(entry.key);
+            out.writeUTF(entry.value.getAppId());
+            out.writeUTF(entry.value.getEntitlementId());
+            out.writeLong(entry.expiresAt);
+        }
+        return entries.size();
+    }
+
+    private static int writeAppUsers(DataOutputStream out, C1ApiClient apiClient) throws IOException {
+        List<Entry<C1ApiClient.AppUserKey, String>> entries = liveEntries(apiClient.getAppUserCache());
+        out.writeInt(entries.size());
+        for (Entry<C1ApiClient.AppUserKey, String> entry : entries) {
+            out.writeUTF(entry.key.getAppId());
+            out.writeUTF(entry.key.getUsername());
+            out.writeUTF(entry.value);
+            out.writeLong(entry.expiresAt);
+        }
+        return entries.size();
+    }
+
+    private static <K, V> List<Entry<K, V>> liveEntries(TtlCache<K, V> cache) {
+        List<Entry<K, V>> entries = new ArrayList<>();
+        cache.forEachLive((key, value, expiresAt) -> entries.add(new Entry<>(key, value, expiresAt)));
+        return entries;
+    }
+
+    /**
+     * Restores the saved resolutions that have not expired yet. Blocks on disk, so call it off the main thread.
+     */
+    public void load(ServiceRegistry.Snapshot services) {
+        if (!file.exists()) {
+            return;
+        }
+
+        // base URL -> client, so snapshots only warm the tenant they were taken from
+        Map<String, C1ApiClient> clientsByBaseUrl = new HashMap<>();
+        for (C1ApiClient apiClient : services.getApiClients()) {
+            clientsByBaseUrl.put(apiClient.getBaseUrl(), apiClient);
+        }
+
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                plugin.getLogger().warning("Ignoring resolution cache snapshot in an unknown format");
+                return;
+            }
+
+            int tenantCount = in.readInt();
+            for (int tenant = 0; tenant < tenantCount; tenant++) {
+                C1ApiClient apiClient = clientsByBaseUrl.get(in.readUTF());
+
+                int entitlementCount = in.readInt();
+                for (int i = 0; i < entitlementCount; i++) {
+                    String alias = in.readUTF();
+                    C1ApiClient.ResolvedEntitlement entitlement = new C1ApiClient.ResolvedEntitlement(in.readUTF(), in.readUTF());
+                    long expiresAt = in.readLong();
+                    if (apiClient != null && apiClient.getEntitlementCache().putUntil(alias, entitlement, expiresAt)) {
+                        restored++;
+                    }
+                }
+
+                int appUserCount = in.readInt();
+                for (int i = 0; i < appUserCount; i++) {
+                    C1ApiClient.AppUserKey key = new C1ApiClient.AppUserKey(in.readUTF(), in.readUTF());
+                    String appUserId = in.readUTF();
+                    long expiresAt = in.readLong();
+                    if (apiClient != null && apiClient.getAppUserCache().putUntil(key, appUserId, expiresAt)) {
+                        restored++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to load the resolution cache snapshot: " + e.getMessage());
+            return;
+        }
+
+        plugin.getLogger().info("Restored " + restored + " cached resolution(s) from the last run");
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks the results of a paginated ConductorOne listing, one view at a time. The first page is fetched
+ * on the caller's thread; while the caller works through a page, the next one is already being fetched on the
+ * tenant's request threads, and no page after that is requested until the caller reaches it, so at most one page
+ * is ever buffered ahead. Once the caller has its limit of results, or stops and closes the pager, no more pages
+ * are fetched. I/O failures surface as an {@link UncheckedIOException}; a page the API rejects ends the results
+ * early, see {@link #isComplete()}.
+ */
+public class SearchPages implements Iterator<JsonObject>, AutoCloseable {
+
+    /**
+     * Fetches one page of a listing
+     */
+    @FunctionalInterface
+    public interface PageFetcher {
+        /**
+         * @param pageToken The token of the page to fetch, or null for the first page
+         * @return The page, or null if the API rejected the request
+         */
+        JsonObject fetch(String pageToken) throws IOException;
+    }
+
+    private final PageFetcher fetcher;
+    private final Executor executor;
+    private final int maxResults;
+    private Iterator<JsonElement> page = Collections.emptyIterator();
+    private CompletableFuture<JsonObject> prefetched;
+    private boolean started;
+    private boolean morePages = true;
+    private boolean complete;
+    private boolean closed;
+    private int pageCount;
+    private int buffered;
+    private int returned;
+
+    /**
+     * @param executor Runs the prefetch of the next page
+     * @param maxResults How many results the caller wants at most
+     */
+    public SearchPages(PageFetcher fetcher, Executor executor, int maxResults) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.maxResults = Math.max(1, maxResults);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (closed || !morePages || buffered >= maxResults) {
+                return false;
+            }
+            JsonObject next = takePage();
+            if (next == null) {
+                morePages = false;
+                return false;
+            }
+            pageCount++;
+
+            JsonElement nextToken = next.get("nextPageToken");
+            String pageToken = nextToken != null && !nextToken.isJsonNull() ? nextToken.getAsString() : null;
+            page = next.has("list") ? next.getAsJsonArray("list").iterator() : Collections.emptyIterator();
+            buffered += next.has("list") ? next.getAsJsonArray("list").size() : 0;
+
+            if (pageToken == null || pageToken.isEmpty()) {
+                morePages = false;
+                complete = true;
+            } else if (buffered < maxResults) {
+                // Fetch the following page while this one is consumed
+                prefetched = CompletableFuture.supplyAsync(() -> fetch(pageToken), executor);
+            } else {
+                // This page already covers the limit, so the following one would go unread
+                morePages = false;
+            }
+        }
+        return returned < maxResults;
+    }
+
+    @Override
+    public JsonObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        returned++;
+        return page.next().getAsJsonObject();
+    }
+
+    /**
+     * The remaining results as a sequential stream; closing the stream closes the pager
+     */
+    public Stream<JsonObject> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(this::close);
+    }
+
+    private JsonObject takePage() {
+        if (!started) {
+            started = true;
+            return fetch(null);
+        }
+        try {
+            return prefetched.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof UncheckedIOException ? (UncheckedIOException) e.getCause() : e;
+        } finally {
+            prefetched = null;
+        }
+    }
+
+    private JsonObject fetch(String pageToken) {
+        try {
+            return fetcher.fetch(pageToken);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops paging. A page that is already being prefetched is discarded.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (prefetched != null) {
+            prefetched.cancel(false);
+            prefetched = null;
+        }
+    }
+
+    /**
+     * Whether every page was read, false if the API rejected a page or paging stopped at the limit or on close
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+}
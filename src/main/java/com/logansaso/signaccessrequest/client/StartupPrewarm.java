@@ -0,0 +1,136 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.logansaso.signaccessrequest.ServiceRegistry;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms every tenant in the background right after its services are published, so the first click
+ * doesn't pay for the client assertion, token fetch, DNS lookup and TLS handshake in series.
+ * Each tenant fetches a token, makes one authenticated call to leave a warm keep-alive connection behind,
+ * and optionally resolves the aliases on indexed signs. Progress is kept per tenant for /c1status.
+ */
+public class StartupPrewarm {
+
+    public enum State {
+        WARMING,
+        READY,
+        FAILED
+    }
+
+    private final SignAccessRequestPlugin plugin;
+    private volatile Map<String, TenantStatus> statuses = Map.of();
+
+    public StartupPrewarm(SignAccessRequestPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts warming every tenant of the given services on the tenant's own request threads. Returns immediately.
+     */
+    public void start(ServiceRegistry.Snapshot services) {
+        boolean resolveAliases = plugin.getConfig().getBoolean("startup.prewarm-aliases", true);
+        Map<String, TenantStatus> next = new LinkedHashMap<>();
+        for (C1ApiClient apiClient : services.getApiClients()) {
+            TenantStatus status = new TenantStatus(apiClient.getTenant());
+            next.put(apiClient.getTenant(), status);
+            CompletableFuture.runAsync(() -> warm(apiClient, status, resolveAliases), apiClient.getRequestExecutor());
+        }
+        statuses = next;
+    }
+
+    private void warm(C1ApiClient apiClient, TenantStatus status, boolean resolveAliases) {
+        long start = System.nanoTime();
+        try {
+            // Builds and signs the client assertion and fetches the token
+            status.stage = "fetching token";
+            apiClient.getTokenManager().getAccessToken().join();
+            status.tokenMillis = elapsedMillis(start);
+
+            // Resolves DNS and completes the TLS handshake, leaving the connection in the keep-alive pool
+            status.stage = "opening connection";
+            long connectStart = System.nanoTime();
+            if (!apiClient.checkHealth()) {
+                throw new IllegalStateException("health check failed");
+            }
+            status.connectionMillis = elapsedMillis(connectStart);
+
+            if (resolveAliases) {
+                Set<String> aliases = plugin.getSignIndex().getAliases(apiClient.getTenant());
+                status.stage = "resolving " + aliases.size() + " alias(es)";
+                status.aliasCount = aliases.size();
+                status.aliasesResolved = apiClient.prefetchEntitlements(aliases).join().size();
+            }
+
+            status.totalMillis = elapsedMillis(start);
+            status.state = State.READY;
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] Tenant '" + status.tenant + "' warmed up in " + status.totalMillis + " ms");
+            }
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            status.failure = cause.getMessage();
+            status.totalMillis = elapsedMillis(start);
+            status.state = State.FAILED;
+            plugin.getLogger().warning("Failed to warm up tenant '" + status.tenant + "' while " + status.stage + ": " + cause.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /**
+     * The warmup progress of each tenant of the most recently published services
+     */
+    public Collection<TenantStatus> getStatuses() {
+        return statuses.values();
+    }
+
+    /**
+     * Warmup progress of one tenant. Written by the warming thread, read by /c1status.
+     */
+    public static class TenantStatus {
+        private final String tenant;
+        private volatile State state = State.WARMING;
+        private volatile String stage = "starting";
+        private volatile String failure;
+        private volatile long tokenMillis = -1;
+        private volatile long connectionMillis = -1;
+        private volatile long totalMillis = -1;
+        private volatile int aliasCount = -1;
+        private volatile int aliasesResolved;
+
+        private TenantStatus(String tenant) {
+            this.tenant = tenant;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * A short description of the warmup state, e.g. "ready in 412 ms (token 230 ms, connection 150 ms, 12/12 aliases)"
+         */
+        public String describe() {
+            switch (state) {
+                case READY:
+                    return "ready in " + totalMillis + " ms (token " + tokenMillis + " ms, connection " + connectionMillis + " ms" +
+                           (aliasCount >= 0 ? ", " + aliasesResolved + "/" + aliasCount + " aliases" : "") + ")";
+                case FAILED:
+                    return "failed while " + stage + ": " + failure;
+                default:
+                    return "warming up (" + stage + ")";
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Records every outbound ConductorOne exchange to a JSON Lines file, one exchange per line with its offset from
+ * the start of the capture, so real traffic can be replayed later with {@link TrafficReplay}. Request threads only
+ * hand the exchange to a queue; a single writer thread redacts secrets from the bodies and appends it. When the
+ * queue is full exchanges are dropped rather than slowing requests down.
+ */
+public class TrafficCapture {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final String REDACTED = "REDACTED";
+    private static final Set<String> SECRET_FIELDS = Set.of(
+        "access_token", "refresh_token", "id_token", "client_assertion", "client_secret", "password");
+    private static final Pattern SECRET_FORM_FIELD = Pattern.compile(
+        "(^|&)(access_token|refresh_token|id_token|client_assertion|client_secret|password)=[^&]*");
+
+    private final SignAccessRequestPlugin plugin;
+    private final File file;
+    private final boolean includeBodies;
+    private final Gson gson = new Gson();
+    private final BlockingQueue<Exchange> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final long startNanos = System.nanoTime();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public TrafficCapture(SignAccessRequestPlugin plugin, File file, boolean includeBodies) {
+        this.plugin = plugin;
+        this.file = file;
+        this.includeBodies = includeBodies;
+        this.writerThread = new Thread(this::writeLoop, "SignAccessRequest-Capture");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Records one exchange. Never blocks.
+     *
+     * @param statusCode The response status, or 0 if the call failed before a response was read
+     * @param lane The scheduler lane the call ran in, or null for calls outside the scheduler such as token fetches
+     */
+    public void record(String tenant, String method, String endpoint, RequestScheduler.Lane lane, int statusCode,
+                       long startedNanos, long durationNanos, String requestBody, long requestBytes,
+                       String responseBody, long responseBytes) {
+        Exchange exchange = new Exchange();
+        exchange.offsetMillis = TimeUnit.NANOSECONDS.toMillis(startedNanos - startNanos);
+        exchange.tenant = tenant;
+        exchange.method = method;
+        exchange.endpoint = endpoint;
+        exchange.lane = lane != null ? lane.name() : null;
+        exchange.status = statusCode;
+        exchange.durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        exchange.requestBytes = requestBytes;
+        exchange.responseBytes = responseBytes;
+        if (includeBodies) {
+            exchange.requestBody = requestBody;
+            exchange.responseBody = responseBody;
+        }
+        if (!pending.offer(exchange)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            while (running || !pending.isEmpty()) {
+                Exchange exchange = pending.poll(200, TimeUnit.MILLISECONDS);
+                if (exchange == null) {
+                    writer.flush();
+                    continue;
+                }
+                // Redact on the writer thread, keeping the parsing off request threads
+                exchange.requestBody = sanitize(exchange.requestBody);
+                exchange.responseBody = sanitize(exchange.responseBody);
+                writer.write(gson.toJson(exchange));
+                writer.write('\n');
+                written.increment();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Traffic capture stopped, failed to write " + file.getName() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes out the exchanges still queued and closes the file
+     */
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        plugin.getLogger().info("Captured " + written.sum() + " ConductorOne exchange(s) to " + file.getName() +
+                                (dropped.sum() > 0 ? " (" + dropped.sum() + " dropped)" : ""));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Replaces secret values in a JSON or form-encoded body
+     */
+    static String sanitize(String body) {
+        if (body == null || body.isEmpty()) {
+            return body;
+        }
+        char first = body.trim().isEmpty() ? ' ' : body.trim().charAt(0);
+        if (first != '{' && first != '[') {
+            return SECRET_FORM_FIELD.matcher(body).replaceAll("$1$2=" + REDACTED);
+        }
+        try {
+            JsonElement json = JsonParser.parseString(body);
+            redact(json);
+            return json.toString();
+        } catch (JsonParseException e) {
+            return REDACTED;
+        }
+    }
+
+    private static void redact(JsonElement element) {
+        if (element.isJsonArray()) {
+            element.getAsJsonArray().forEach(TrafficCapture::redact);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                if (SECRET_FIELDS.contains(entry.getKey().toLowerCase(Locale.ROOT)) && entry.getValue().isJsonPrimitive()) {
+                    entry.setValue(new com.google.gson.JsonPrimitive(REDACTED));
+                } else {
+                    redact(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * One recorded exchange, as written to and read from the capture file
+     */
+    static final class Exchange {
+        long offsetMillis;
+        String tenant;
+        String method;
+        String endpoint;
+        String lane;
+        int status;
+        long durationMillis;
+        long requestBytes;
+        long responseBytes;
+        String requestBody;
+        String responseBody;
+    }
+}
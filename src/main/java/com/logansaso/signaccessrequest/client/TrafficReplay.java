@@ -0,0 +1,342 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.auth.TokenManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays a {@link TrafficCapture} file through the request pipeline against a local stub server.
+ * The stub answers each endpoint with the recorded responses after the recorded server time, and a throwaway
+ * client for the stub sends the recorded requests at their recorded offsets, divided by the speed factor,
+ * through the same scheduler, connections and response handling as live traffic. The report compares the
+ * latency seen during the replay with the latency that was recorded, per scheduler lane.
+ */
+public class TrafficReplay {
+
+    private static final String REPLAY_TENANT = "replay";
+
+    private final SignAccessRequestPlugin plugin;
+    private final Gson gson = new Gson();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TrafficReplay(SignAccessRequestPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Replays a capture file in the background
+     *
+     * @param speed How many times faster than recorded to send the requests, or 0 to send them all at once
+     * @return A future completing with the report lines, or failing if the replay could not start
+     */
+    public CompletableFuture<List<String>> replay(File file, double speed) {
+        if (plugin.getTrafficCapture() != null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Disable capture.enabled before replaying traffic"));
+        }
+        if (!running.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("A replay is already running"));
+        }
+
+        CompletableFuture<List<String>> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return run(file, speed);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+        result.whenComplete((lines, error) -> running.set(false));
+        return result;
+    }
+
+    private List<String> run(File file, double speed) throws IOException {
+        List<TrafficCapture.Exchange> exchanges = load(file);
+        List<TrafficCapture.Exchange> apiCalls = new ArrayList<>();
+        for (TrafficCapture.Exchange exchange : exchanges) {
+            // Token fetches carry no tenant; the stub answers them but they are not replayed on their own
+            if (exchange.tenant != null) {
+                apiCalls.add(exchange);
+            }
+        }
+        if (apiCalls.isEmpty()) {
+            throw new IOException(file.getName() + " has no recorded API calls");
+        }
+        apiCalls.sort(Comparator.comparingLong(exchange -> exchange.offsetMillis));
+
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("conductorone");
+        if (config == null) {
+            throw new IOException("The conductorone section is missing");
+        }
+        String tokenEndpoint = config.getString("token-endpoint", "auth/v1/token");
+
+        ExecutorService stubExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "SignAccessRequest-ReplayStub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.createContext("/", new StubHandler(exchanges, "/" + tokenEndpoint)::handle);
+        stub.setExecutor(stubExecutor);
+        stub.start();
+
+        String stubUrl = "http://" + stub.getAddress().getHostString() + ":" + stub.getAddress().getPort();
+        TokenManager tokenManager = new TokenManager(stubUrl, config.getString("client-id"), config.getString("client-secret"),
+                                                     tokenEndpoint, plugin);
+        C1ApiClient apiClient = new C1ApiClient(REPLAY_TENANT, stubUrl, config.getString("grant-task-endpoint"),
+                                                config.getString("revoke-task-endpoint"), tokenManager,
+                                                config.getInt("max-concurrent-requests", 16), plugin.getConfig(), plugin);
+        ScheduledExecutorService pacer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SignAccessRequest-ReplayPacer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        plugin.getLogger().info("Replaying " + apiCalls.size() + " exchange(s) from " + file.getName() + " against " + stubUrl +
+                                (speed > 0 ? " at " + speed + "x" : " all at once"));
+        try {
+            String token = tokenManager.getAccessToken().join();
+            Results results = new Results(apiCalls.size());
+            long firstOffset = apiCalls.get(0).offsetMillis;
+            long start = System.nanoTime();
+            for (TrafficCapture.Exchange exchange : apiCalls) {
+                long delayMillis = speed > 0 ? (long) ((exchange.offsetMillis - firstOffset) / speed) : 0;
+                pacer.schedule(() -> CompletableFuture.runAsync(() -> send(apiClient, token, exchange, results),
+                                                                apiClient.getRequestExecutor()),
+                               delayMillis, TimeUnit.MILLISECONDS);
+            }
+            results.await();
+            long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long recordedMillis = apiCalls.get(apiCalls.size() - 1).offsetMillis - firstOffset;
+            return results.describe(wallMillis, recordedMillis);
+        } finally {
+            pacer.shutdownNow();
+            apiClient.shutdown();
+            apiClient.getRequestExecutor().shutdown();
+            stub.stop(0);
+            stubExecutor.shutdownNow();
+        }
+    }
+
+    private static void send(C1ApiClient apiClient, String token, TrafficCapture.Exchange exchange, Results results) {
+        RequestScheduler.Lane lane = parseLane(exchange.lane);
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = apiClient.replayExchange(token, exchange.method, exchange.endpoint, exchange.requestBody, lane);
+        } catch (IOException e) {
+            status = 0;
+        }
+        results.record(lane, exchange, status, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static RequestScheduler.Lane parseLane(String lane) {
+        try {
+            return lane != null ? RequestScheduler.Lane.valueOf(lane) : RequestScheduler.Lane.INTERACTIVE;
+        } catch (IllegalArgumentException e) {
+            return RequestScheduler.Lane.INTERACTIVE;
+        }
+    }
+
+    private List<TrafficCapture.Exchange> load(File file) throws IOException {
+        List<TrafficCapture.Exchange> exchanges = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    TrafficCapture.Exchange exchange = gson.fromJson(line, TrafficCapture.Exchange.class);
+                    if (exchange.method != null && exchange.endpoint != null) {
+                        exchanges.add(exchange);
+                    }
+                } catch (JsonParseException e) {
+                    plugin.getLogger().warning("Skipping unreadable line " + lineNumber + " of " + file.getName());
+                }
+            }
+        }
+        return exchanges;
+    }
+
+    /**
+     * Serves the recorded responses of each method and endpoint in turn, starting over once they run out
+     */
+    private static final class StubHandler {
+        private final Map<String, Deque<TrafficCapture.Exchange>> responses = new HashMap<>();
+        private final String tokenPath;
+
+        private StubHandler(List<TrafficCapture.Exchange> exchanges, String tokenPath) {
+            this.tokenPath = tokenPath;
+            for (TrafficCapture.Exchange exchange : exchanges) {
+                responses.computeIfAbsent(exchange.method + " " + exchange.endpoint, key -> new ArrayDeque<>()).add(exchange);
+            }
+        }
+
+        private void handle(HttpExchange http) throws IOException {
+            try (InputStream body = http.getRequestBody()) {
+                body.readAllBytes();
+            }
+
+            String endpoint = http.getRequestURI().getRawPath() +
+                              (http.getRequestURI().getRawQuery() != null ? "?" + http.getRequestURI().getRawQuery() : "");
+            TrafficCapture.Exchange recorded = next(http.getRequestMethod() + " " + endpoint);
+            if (recorded == null) {
+                respond(http, endpoint.equals(tokenPath) ? 200 : 404, endpoint.equals(tokenPath) ? syntheticToken() : "{}");
+                return;
+            }
+
+            if (recorded.durationMillis > 0) {
+                try {
+                    Thread.sleep(recorded.durationMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (recorded.status == 0) {
+                // The recorded call failed without a response, so fail this one the same way
+                http.close();
+                return;
+            }
+            respond(http, recorded.status, responseBody(recorded, endpoint.equals(tokenPath)));
+        }
+
+        private synchronized TrafficCapture.Exchange next(String key) {
+            Deque<TrafficCapture.Exchange> queue = responses.get(key);
+            if (queue == null) {
+                return null;
+            }
+            TrafficCapture.Exchange exchange = queue.poll();
+            queue.add(exchange);
+            return exchange;
+        }
+
+        /**
+         * The recorded body, or filler of the recorded size when bodies were not captured
+         */
+        private static String responseBody(TrafficCapture.Exchange recorded, boolean token) {
+            if (token && (recorded.responseBody == null || !recorded.responseBody.contains("access_token"))) {
+                return syntheticToken();
+            }
+            if (recorded.responseBody != null) {
+                return recorded.responseBody;
+            }
+            char[] padding = new char[(int) Math.max(0, Math.min(recorded.responseBytes - 16, 16 * 1024 * 1024))];
+            Arrays.fill(padding, ' ');
+            return "{\"list\":[]" + new String(padding) + "}";
+        }
+
+        private static String syntheticToken() {
+            return "{\"access_token\":\"REDACTED\",\"expires_in\":3600}";
+        }
+
+        private static void respond(HttpExchange http, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            http.getResponseHeaders().set("Content-Type", "application/json");
+            http.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = http.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Latencies observed during a replay next to the recorded ones, per lane
+     */
+    private static final class Results {
+        private final AtomicInteger remaining;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger statusMismatches = new AtomicInteger();
+        private final Map<RequestScheduler.Lane, List<long[]>> latencies = new EnumMap<>(RequestScheduler.Lane.class);
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Results(int count) {
+            this.remaining = new AtomicInteger(count);
+        }
+
+        /**
+         * @param replayMillis The latency seen by the replay, including time spent waiting for a request slot
+         */
+        private void record(RequestScheduler.Lane lane, TrafficCapture.Exchange recorded, int status, long replayMillis) {
+            synchronized (latencies) {
+                latencies.computeIfAbsent(lane, key -> new ArrayList<>()).add(new long[] {recorded.durationMillis, replayMillis});
+            }
+            if (status == 0) {
+                failures.incrementAndGet();
+            } else if (status != recorded.status) {
+                statusMismatches.incrementAndGet();
+            }
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+
+        private void await() {
+            done.join();
+        }
+
+        private List<String> describe(long wallMillis, long recordedMillis) {
+            List<String> lines = new ArrayList<>();
+            int total = 0;
+            synchronized (latencies) {
+                for (List<long[]> samples : latencies.values()) {
+                    total += samples.size();
+                }
+                lines.add("Replayed " + total + " exchange(s) in " + wallMillis + " ms (recorded over " + recordedMillis + " ms), " +
+                          failures.get() + " failed, " + statusMismatches.get() + " with a different status");
+                latencies.forEach((lane, samples) -> {
+                    long[] recorded = new long[samples.size()];
+                    long[] replayed = new long[samples.size()];
+                    for (int i = 0; i < samples.size(); i++) {
+                        recorded[i] = samples.get(i)[0];
+                        replayed[i] = samples.get(i)[1];
+                    }
+                    Arrays.sort(recorded);
+                    Arrays.sort(replayed);
+                    lines.add(lane.name().toLowerCase(Locale.ROOT) + " (" + samples.size() + "): replay p50/p95/p99 " +
+                              percentile(replayed, 50) + "/" + percentile(replayed, 95) + "/" + percentile(replayed, 99) +
+                              " ms, recorded " + percentile(recorded, 50) + "/" + percentile(recorded, 95) + "/" +
+                              percentile(recorded, 99) + " ms");
+                });
+            }
+            return lines;
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
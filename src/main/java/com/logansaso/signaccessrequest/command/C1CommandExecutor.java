@@ -1,13 +1,38 @@
 package com.logansaso.signaccessrequest.command;
 
 import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.client.BulkRequestRunner;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.client.RequestHistory;
+import com.logansaso.signaccessrequest.client.RequestScheduler;
+import com.logansaso.signaccessrequest.client.StartupPrewarm;
+import com.logansaso.signaccessrequest.sign.SignScanner;
+import com.logansaso.signaccessrequest.util.SharedMemoryCache;
+import com.logansaso.signaccessrequest.util.SignValidator;
+import com.logansaso.signaccessrequest.util.TtlCache;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 public class C1CommandExecutor implements CommandExecutor {
 
     private final SignAccessRequestPlugin plugin;
@@ -22,6 +47,18 @@ public class C1CommandExecutor implements CommandExecutor {
             return handleReload(sender);
         } else if (command.getName().equalsIgnoreCase("c1debug")) {
             return handleDebug(sender, args);
+        } else if (command.getName().equalsIgnoreCase("c1bulk")) {
+            return handleBulk(sender, args);
+        } else if (command.getName().equalsIgnoreCase("c1cache")) {
+            return handleCache(sender, args);
+        } else if (command.getName().equalsIgnoreCase("c1scan")) {
+            return handleScan(sender, args);
+        } else if (command.getName().equalsIgnoreCase("c1status")) {
+            return handleStatus(sender);
+        } else if (command.getName().equalsIgnoreCase("c1replay")) {
+            return handleReplay(sender, args);
+        } else if (command.getName().equalsIgnoreCase("c1history")) {
+            return handleHistory(sender, args);
         }
         return false;
     }
@@ -33,17 +70,25 @@ public class C1CommandExecutor implements CommandExecutor {
             return true;
         }
 
-        try {
-            plugin.reloadPluginConfig();
-            sender.sendMessage(Component.text("SignAccessRequest configuration reloaded successfully!")
-                .color(NamedTextColor.GREEN));
-            sender.sendMessage(Component.text("Debug mode: " + (plugin.isDebugMode() ? "enabled" : "disabled"))
-                .color(NamedTextColor.GRAY));
-        } catch (Exception e) {
-            sender.sendMessage(Component.text("Failed to reload configuration: " + e.getMessage())
-                .color(NamedTextColor.RED));
-            plugin.getLogger().severe("Error reloading config: " + e.getMessage());
-        }
+        sender.sendMessage(Component.text("Reloading SignAccessRequest configuration...")
+            .color(NamedTextColor.GRAY));
+
+        // Services are rebuilt off the main thread; report back on the sender's thread
+        plugin.reloadPluginConfig().whenComplete((snapshot, error) ->
+            plugin.getTaskScheduler().runForSender(sender, () -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    sender.sendMessage(Component.text("Failed to reload configuration: " + cause.getMessage())
+                        .color(NamedTextColor.RED));
+                    plugin.getLogger().severe("Error reloading config: " + cause.getMessage());
+                    return;
+                }
+                sender.sendMessage(Component.text("SignAccessRequest configuration reloaded successfully! (version "
+                    + snapshot.getVersion() + ")")
+                    .color(NamedTextColor.GREEN));
+                sender.sendMessage(Component.text("Debug mode: " + (plugin.isDebugMode() ? "enabled" : "disabled"))
+                    .color(NamedTextColor.GRAY));
+            }));
         return true;
     }
 
@@ -78,4 +123,578 @@ public class C1CommandExecutor implements CommandExecutor {
         }
         return true;
     }
+
+    private boolean handleStatus(CommandSender sender) {
+        if (!sender.hasPermission("signaccessrequest.admin")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("SignAccessRequest status (services version " +
+                                          plugin.getServices().current().getVersion() + "):")
+            .color(NamedTextColor.GOLD));
+
+        Collection<StartupPrewarm.TenantStatus> statuses = plugin.getStartupPrewarm().getStatuses();
+        if (statuses.isEmpty()) {
+            sender.sendMessage(Component.text("  Startup warmup is disabled or has not started yet")
+                .color(NamedTextColor.GRAY));
+        }
+        for (StartupPrewarm.TenantStatus status : statuses) {
+            NamedTextColor color = status.getState() == StartupPrewarm.State.READY ? NamedTextColor.GREEN
+                : status.getState() == StartupPrewarm.State.FAILED ? NamedTextColor.RED
+                : NamedTextColor.YELLOW;
+            sender.sendMessage(Component.text("  Tenant '" + status.getTenant() + "': " + status.describe())
+                .color(color));
+        }
+        for (C1ApiClient apiClient : plugin.getServices().current().getApiClients()) {
+            RequestScheduler scheduler = apiClient.getScheduler();
+            sender.sendMessage(Component.text("  Tenant '" + apiClient.getTenant() + "' requests: " + scheduler.getInFlight() + "/" +
+                                              scheduler.getSlots() + " in flight, waiting " +
+                                              scheduler.getWaiting(RequestScheduler.Lane.REVOKE) + " revoke / " +
+                                              scheduler.getWaiting(RequestScheduler.Lane.INTERACTIVE) + " interactive / " +
+                                              scheduler.getWaiting(RequestScheduler.Lane.BACKGROUND) + " background")
+                .color(NamedTextColor.GRAY));
+        }
+        if (plugin.getOutboundQueue() != null) {
+            sender.sendMessage(Component.text("  Outbound queue: " + plugin.getOutboundQueue().size() + " request(s)")
+                .color(NamedTextColor.GRAY));
+        }
+        return true;
+    }
+
+    private boolean handleReplay(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("signaccessrequest.admin")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        if (args.length < 1 || args.length > 2) {
+            sender.sendMessage(Component.text("Usage: /c1replay <capture file> [speed|max]")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        // Only files in the captures folder can be replayed
+        File file = new File(new File(plugin.getDataFolder(), "captures"), new File(args[0]).getName());
+        if (!file.isFile()) {
+            sender.sendMessage(Component.text("No capture named '" + file.getName() + "' in the captures folder")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        double speed = 1;
+        if (args.length == 2) {
+            try {
+                speed = args[1].equalsIgnoreCase("max") ? 0 : Double.parseDouble(args[1]);
+            } catch (NumberFormatException e) {
+                speed = -1;
+            }
+            if (speed < 0 || Double.isNaN(speed) || Double.isInfinite(speed)) {
+                sender.sendMessage(Component.text("Speed must be a positive number or 'max'")
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+        }
+
+        sender.sendMessage(Component.text("⏳ Replaying " + file.getName() + (speed > 0 ? " at " + speed + "x" : " as fast as possible") +
+                                          " against a local stub...")
+            .color(NamedTextColor.YELLOW));
+        plugin.getTrafficReplay().replay(file, speed).whenComplete((report, error) ->
+            plugin.getTaskScheduler().runForSender(sender, () -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    sender.sendMessage(Component.text("✗ Replay failed: " + cause.getMessage())
+                        .color(NamedTextColor.RED));
+                    return;
+                }
+                sender.sendMessage(Component.text("✓ " + report.get(0))
+                    .color(NamedTextColor.GREEN));
+                for (String line : report.subList(1, report.size())) {
+                    sender.sendMessage(Component.text("   " + line)
+                        .color(NamedTextColor.GRAY));
+                }
+            }));
+        return true;
+    }
+
+    private boolean handleBulk(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("signaccessrequest.bulk")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        if (args.length < 3) {
+            sender.sendMessage(Component.text("Usage: /c1bulk <grant|revoke> <alias[@tenant]> <players|@selector>...")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        C1ApiClient.TaskAction action;
+        if (args[0].equalsIgnoreCase("grant")) {
+            action = C1ApiClient.TaskAction.GRANT;
+        } else if (args[0].equalsIgnoreCase("revoke")) {
+            action = C1ApiClient.TaskAction.REVOKE;
+        } else {
+            sender.sendMessage(Component.text("Usage: /c1bulk <grant|revoke> <alias[@tenant]> <players|@selector>...")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        // alias@tenant routes the requests to a named tenant, like a [c1-req@tenant] sign
+        String alias = args[1];
+        String tenant = SignValidator.DEFAULT_TENANT;
+        int at = alias.lastIndexOf('@');
+        if (at > 0) {
+            tenant = alias.substring(at + 1).toLowerCase();
+            alias = alias.substring(0, at);
+        }
+        C1ApiClient apiClient = plugin.getApiClient(tenant);
+        if (apiClient == null) {
+            sender.sendMessage(Component.text("Unknown tenant: " + tenant)
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        // Resolve targets now, on the command thread, since selectors read the world
+        Map<UUID, Player> targets = new LinkedHashMap<>();
+        for (int i = 2; i < args.length; i++) {
+            for (String target : args[i].split(",")) {
+                if (target.isEmpty()) {
+                    continue;
+                }
+                if (target.startsWith("@")) {
+                    try {
+                        for (Entity entity : plugin.getServer().selectEntities(sender, target)) {
+                            if (entity instanceof Player) {
+                                targets.put(entity.getUniqueId(), (Player) entity);
+                            }
+                        }
+                    } catch (IllegalArgumentException e) {
+                        sender.sendMessage(Component.text("Invalid selector " + target + ": " + e.getMessage())
+                            .color(NamedTextColor.RED));
+                        return true;
+                    }
+                } else {
+                    Player player = plugin.getServer().getPlayerExact(target);
+                    if (player == null) {
+                        sender.sendMessage(Component.text("Skipping " + target + ": not online")
+                            .color(NamedTextColor.YELLOW));
+                        continue;
+                    }
+                    targets.put(player.getUniqueId(), player);
+                }
+            }
+        }
+
+        if (targets.isEmpty()) {
+            sender.sendMessage(Component.text("No online players matched.")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("⏳ Submitting " + action.getName() + " requests for '" + alias + "' for " +
+                                          targets.size() + " player(s)...")
+            .color(NamedTextColor.YELLOW));
+        plugin.getLogger().info(sender.getName() + " started a bulk " + action.getName() + " of '" + alias + "' for " +
+                                targets.size() + " player(s)");
+
+        BulkRequestRunner runner = new BulkRequestRunner(apiClient, plugin);
+        runner.run(new ArrayList<>(targets.values()), alias, action, progress ->
+            plugin.getTaskScheduler().runForSender(sender, () ->
+                sender.sendMessage(Component.text("   " + progress.getCompleted() + "/" + progress.getTotal() +
+                                                  " done (" + progress.describe() + ")")
+                    .color(NamedTextColor.GRAY)))
+        ).whenComplete((summary, error) -> plugin.getTaskScheduler().runForSender(sender, () -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                sender.sendMessage(Component.text("✗ Bulk request failed: " + cause.getMessage())
+                    .color(NamedTextColor.RED));
+                return;
+            }
+            sender.sendMessage(Component.text("✓ Bulk " + action.getName() + " finished: " + summary.describe())
+                .color(NamedTextColor.GREEN));
+            for (String failure : summary.getFailures()) {
+                sender.sendMessage(Component.text("   • " + failure)
+                    .color(NamedTextColor.GRAY));
+            }
+        }));
+        return true;
+    }
+
+    private boolean handleHistory(CommandSender sender, String[] args) {
+        RequestHistory history = plugin.getRequestHistory();
+        if (history == null) {
+            sender.sendMessage(Component.text("Request history is disabled")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+        if (args.length > 1) {
+            sender.sendMessage(Component.text("Usage: /c1history [player]")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        // Answered entirely from the local history, so this never calls ConductorOne
+        UUID playerUuid;
+        String playerName;
+        if (args.length == 0) {
+            if (!(sender instanceof Player)) {
+                sender.sendMessage(Component.text("Usage: /c1history <player>")
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+            if (!sender.hasPermission("signaccessrequest.history")) {
+                sender.sendMessage(Component.text("You don't have permission to use this command!")
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+            playerUuid = ((Player) sender).getUniqueId();
+            playerName = sender.getName();
+        } else {
+            boolean self = sender instanceof Player && sender.getName().equalsIgnoreCase(args[0]);
+            if (!sender.hasPermission(self ? "signaccessrequest.history" : "signaccessrequest.history.others")) {
+                sender.sendMessage(Component.text("You don't have permission to use this command!")
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+            Player online = plugin.getServer().getPlayerExact(args[0]);
+            playerUuid = online != null ? online.getUniqueId() : history.findByName(args[0]);
+            playerName = online != null ? online.getName() : args[0];
+        }
+
+        List<RequestHistory.Entry> entries = playerUuid != null ? history.get(playerUuid) : List.of();
+        if (entries.isEmpty()) {
+            sender.sendMessage(Component.text("No access requests recorded for " + playerName)
+                .color(NamedTextColor.YELLOW));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("Access requests of " + playerName + " (newest first):")
+            .color(NamedTextColor.GOLD));
+        long now = System.currentTimeMillis();
+        for (RequestHistory.Entry entry : entries) {
+            String target = SignValidator.DEFAULT_TENANT.equals(entry.getTenant())
+                ? entry.getAlias()
+                : entry.getAlias() + "@" + entry.getTenant();
+            Component line = Component.text("  " + formatAge(now - entry.getTime()) + " ago ")
+                .color(NamedTextColor.GRAY)
+                .append(Component.text(entry.getAction() + " " + target + " ")
+                    .color(NamedTextColor.WHITE))
+                .append(describeOutcome(entry));
+            if (entry.getTaskUrl() != null) {
+                line = line.append(Component.text(" [open task]")
+                    .color(NamedTextColor.AQUA)
+                    .clickEvent(net.kyori.adventure.text.event.ClickEvent.openUrl(entry.getTaskUrl()))
+                    .hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(
+                        Component.text(entry.getTaskUrl()).color(NamedTextColor.YELLOW))));
+            }
+            sender.sendMessage(line);
+        }
+        return true;
+    }
+
+    private static Component describeOutcome(RequestHistory.Entry entry) {
+        switch (entry.getOutcome()) {
+            case CREATED:
+                return Component.text("✔ submitted").color(NamedTextColor.GREEN);
+            case EXISTING:
+                return Component.text("⚠ already open").color(NamedTextColor.YELLOW);
+            case QUEUED:
+                return Component.text("⏳ queued").color(NamedTextColor.YELLOW);
+            default:
+                return Component.text("✗ failed" + (entry.getMessage() != null ? ": " + entry.getMessage() : ""))
+                    .color(NamedTextColor.RED);
+        }
+    }
+
+    private static String formatAge(long millis) {
+        long seconds = Math.max(0, millis / 1000);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return (seconds / 60) + "m";
+        }
+        if (seconds < 86400) {
+            return (seconds / 3600) + "h";
+        }
+        return (seconds / 86400) + "d";
+    }
+
+    private boolean handleCache(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("signaccessrequest.admin")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        String subcommand = args.length > 0 ? args[0].toLowerCase() : "stats";
+        switch (subcommand) {
+            case "stats":
+                showCacheStats(sender);
+                return true;
+            case "clear":
+                return clearCache(sender, args);
+            case "warm":
+                warmCache(sender);
+                return true;
+            default:
+                sender.sendMessage(Component.text("Usage: /c1cache <stats|clear [alias <alias>|player <name>]|warm>")
+                    .color(NamedTextColor.RED));
+                return true;
+        }
+    }
+
+    private void showCacheStats(CommandSender sender) {
+        sender.sendMessage(Component.text("SignAccessRequest caches:")
+            .color(NamedTextColor.GOLD));
+        for (C1ApiClient apiClient : plugin.getServices().current().getApiClients()) {
+            sender.sendMessage(Component.text(" Tenant '" + apiClient.getTenant() + "' (" + apiClient.getRequestsInFlight() + "/" +
+                                              apiClient.getMaxConcurrentRequests() + " requests in flight):")
+                .color(NamedTextColor.YELLOW));
+            sendCacheStats(sender, "Entitlements", apiClient.getEntitlementCache());
+            sendCacheStats(sender, "App users", apiClient.getAppUserCache());
+            sendCacheStats(sender, "Open tasks", apiClient.getOpenTaskIndex().getCache());
+
+            if (apiClient.getCatalog() != null) {
+                sender.sendMessage(Component.text("  Catalog mirror: " + (apiClient.getCatalog().isLoaded()
+                        ? apiClient.getCatalog().size() + " aliases" : "not loaded yet"))
+                    .color(NamedTextColor.GRAY));
+            }
+            if (apiClient.getGrantTracker() != null) {
+                sender.sendMessage(Component.text("  Grant view: " + apiClient.getGrantTracker().getTrackedAppUserCount() + " tracked app users")
+                    .color(NamedTextColor.GRAY));
+            }
+        }
+        SharedMemoryCache sharedCache = plugin.getSharedCache();
+        if (sharedCache != null) {
+            long hits = sharedCache.getHitCount();
+            long lookups = hits + sharedCache.getMissCount();
+            String hitRatio = lookups == 0 ? "n/a" : String.format("%.1f%%", hits * 100.0 / lookups);
+            sender.sendMessage(Component.text("  Shared cache: " + sharedCache.getSlotCount() + " slots, hit ratio " + hitRatio +
+                                              " (" + hits + "/" + lookups + ")")
+                .color(NamedTextColor.GRAY));
+        }
+        if (plugin.getAppUserDirectory() != null) {
+            sender.sendMessage(Component.text("  Known app users: " + plugin.getAppUserDirectory().size() + " player(s)")
+                .color(NamedTextColor.GRAY));
+        }
+        if (plugin.getRequestHistory() != null) {
+            sender.sendMessage(Component.text("  Request history: " + plugin.getRequestHistory().size() + " player(s)")
+                .color(NamedTextColor.GRAY));
+        }
+        if (plugin.getOutboundQueue() != null) {
+            sender.sendMessage(Component.text("  Outbound queue: " + plugin.getOutboundQueue().size() + " request(s)")
+                .color(NamedTextColor.GRAY));
+        }
+        sender.sendMessage(Component.text("  Indexed signs: " + plugin.getSignIndex().size())
+            .color(NamedTextColor.GRAY));
+    }
+
+    private static void sendCacheStats(CommandSender sender, String name, TtlCache<?, ?> cache) {
+        long hits = cache.getHitCount();
+        long lookups = hits + cache.getMissCount();
+        String hitRatio = lookups == 0 ? "n/a" : String.format("%.1f%%", hits * 100.0 / lookups);
+        sender.sendMessage(Component.text("  " + name + ": " + cache.size() + " entries, hit ratio " + hitRatio +
+                                          " (" + hits + "/" + lookups + "), oldest " + (cache.getOldestEntryAgeMillis() / 1000) +
+                                          "s, ttl " + (cache.getTtlMillis() / 1000) + "s")
+            .color(NamedTextColor.GRAY));
+    }
+
+    private boolean clearCache(CommandSender sender, String[] args) {
+        Collection<C1ApiClient> apiClients = plugin.getServices().current().getApiClients();
+
+        if (args.length == 1) {
+            for (C1ApiClient apiClient : apiClients) {
+                apiClient.clearCaches();
+            }
+            sender.sendMessage(Component.text("Cleared the entitlement, app user and open task caches")
+                .color(NamedTextColor.GREEN));
+            return true;
+        }
+
+        if (args.length == 3 && args[1].equalsIgnoreCase("alias")) {
+            for (C1ApiClient apiClient : apiClients) {
+                apiClient.invalidateAlias(args[2]);
+            }
+            sender.sendMessage(Component.text("Cleared the cached entitlement for alias '" + args[2] + "'")
+                .color(NamedTextColor.GREEN));
+            return true;
+        }
+
+        if (args.length == 3 && args[1].equalsIgnoreCase("player")) {
+            OfflinePlayer player = plugin.getServer().getPlayerExact(args[2]);
+            if (player == null) {
+                player = plugin.getServer().getOfflinePlayerIfCached(args[2]);
+            }
+            if (player == null) {
+                sender.sendMessage(Component.text("Unknown player: " + args[2])
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+            int removed = 0;
+            for (C1ApiClient apiClient : apiClients) {
+                removed += apiClient.invalidatePlayer(player.getUniqueId(), args[2]);
+            }
+            sender.sendMessage(Component.text("Cleared " + removed + " cached entries for " + args[2])
+                .color(NamedTextColor.GREEN));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("Usage: /c1cache clear [alias <alias>|player <name>]")
+            .color(NamedTextColor.RED));
+        return true;
+    }
+
+    /**
+     * Pre-resolves every alias on indexed signs, then the app users of online players in each of those apps, on every tenant
+     */
+    private void warmCache(CommandSender sender) {
+        List<Player> players = new ArrayList<>(plugin.getServer().getOnlinePlayers());
+
+        sender.sendMessage(Component.text("⏳ Warming caches: " + plugin.getSignIndex().size() + " indexed sign(s), " +
+                                          players.size() + " online player(s)...")
+            .color(NamedTextColor.YELLOW));
+
+        List<CompletableFuture<String>> tenants = new ArrayList<>();
+        for (C1ApiClient apiClient : plugin.getServices().current().getApiClients()) {
+            tenants.add(warmTenant(sender, apiClient, plugin.getSignIndex().getAliases(apiClient.getTenant()), players));
+        }
+
+        CompletableFuture.allOf(tenants.toArray(new CompletableFuture[0])).whenComplete((ignored, error) ->
+            plugin.getTaskScheduler().runForSender(sender, () -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    sender.sendMessage(Component.text("✗ Cache warmup failed: " + cause.getMessage())
+                        .color(NamedTextColor.RED));
+                    return;
+                }
+                List<String> summaries = new ArrayList<>();
+                for (CompletableFuture<String> tenant : tenants) {
+                    summaries.add(tenant.join());
+                }
+                sender.sendMessage(Component.text("✓ Cache warmup finished: " + String.join("; ", summaries))
+                    .color(NamedTextColor.GREEN));
+            }));
+    }
+
+    private CompletableFuture<String> warmTenant(CommandSender sender, C1ApiClient apiClient, Set<String> aliases, List<Player> players) {
+        return apiClient.prefetchEntitlements(aliases).thenCompose(entitlements -> {
+            plugin.getTaskScheduler().runForSender(sender, () ->
+                sender.sendMessage(Component.text("   " + apiClient.getTenant() + ": resolved " + entitlements.size() + "/" +
+                                                  aliases.size() + " alias(es)")
+                    .color(NamedTextColor.GRAY)));
+
+            Set<String> appIds = new HashSet<>();
+            for (C1ApiClient.ResolvedEntitlement entitlement : entitlements.values()) {
+                appIds.add(entitlement.getAppId());
+            }
+
+            List<CompletableFuture<Map<UUID, String>>> lookups = new ArrayList<>();
+            for (String appId : appIds) {
+                lookups.add(apiClient.prefetchAppUsers(appId, players));
+            }
+            return CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+                int appUsers = 0;
+                for (CompletableFuture<Map<UUID, String>> lookup : lookups) {
+                    appUsers += lookup.join().size();
+                }
+                return apiClient.getTenant() + " resolved " + appUsers + " app user(s) across " + appIds.size() + " app(s)";
+            });
+        });
+    }
+
+    private boolean handleScan(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("signaccessrequest.admin")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                .color(NamedTextColor.RED));
+            return true;
+        }
+
+        // Usage: /c1scan [world] [radius] [fix]
+        List<String> remaining = new ArrayList<>(List.of(args));
+        boolean fix = remaining.removeIf(arg -> arg.equalsIgnoreCase("fix"));
+
+        World world = sender instanceof Player ? ((Player) sender).getWorld() : plugin.getServer().getWorlds().get(0);
+        if (!remaining.isEmpty() && !isInteger(remaining.get(0))) {
+            String worldName = remaining.remove(0);
+            world = plugin.getServer().getWorld(worldName);
+            if (world == null) {
+                sender.sendMessage(Component.text("Unknown world: " + worldName)
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+        }
+
+        int radius = plugin.getConfig().getInt("scan.default-radius", 512);
+        if (!remaining.isEmpty()) {
+            if (!isInteger(remaining.get(0))) {
+                sender.sendMessage(Component.text("Usage: /c1scan [world] [radius] [fix]")
+                    .color(NamedTextColor.RED));
+                return true;
+            }
+            radius = Integer.parseInt(remaining.get(0));
+        }
+        radius = Math.max(0, Math.min(radius, plugin.getConfig().getInt("scan.max-radius", 10000)));
+
+        // Scan around the player when they are in the scanned world, otherwise around spawn
+        Location center = sender instanceof Player && ((Player) sender).getWorld().equals(world)
+            ? ((Player) sender).getLocation()
+            : world.getSpawnLocation();
+
+        sender.sendMessage(Component.text("⏳ Scanning " + world.getName() + " within " + radius + " blocks of " +
+                                          center.getBlockX() + ", " + center.getBlockZ() + "...")
+            .color(NamedTextColor.YELLOW));
+
+        SignScanner scanner = new SignScanner(plugin);
+        scanner.scan(world, center.getBlockX(), center.getBlockZ(), radius, progress ->
+            plugin.getTaskScheduler().runForSender(sender, () ->
+                sender.sendMessage(Component.text("   " + progress)
+                    .color(NamedTextColor.GRAY)))
+        ).whenComplete((report, error) -> plugin.getTaskScheduler().runForSender(sender, () -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                sender.sendMessage(Component.text("✗ Sign scan failed: " + cause.getMessage())
+                    .color(NamedTextColor.RED));
+                return;
+            }
+
+            List<SignScanner.ScannedSign> dead = report.getDeadSigns();
+            sender.sendMessage(Component.text("✓ Scanned " + report.getChunkCount() + " chunks: " + report.getSigns().size() +
+                                              " C1 sign(s), " + report.getAliasCount() + " alias(es), " + dead.size() + " dead sign(s)")
+                .color(dead.isEmpty() ? NamedTextColor.GREEN : NamedTextColor.YELLOW));
+            for (int i = 0; i < Math.min(10, dead.size()); i++) {
+                Location location = dead.get(i).getLocation();
+                sender.sendMessage(Component.text("   • '" + dead.get(i).getAlias() + "' at " + location.getBlockX() + ", " +
+                                                  location.getBlockY() + ", " + location.getBlockZ())
+                    .color(NamedTextColor.GRAY));
+            }
+            if (dead.size() > 10) {
+                sender.sendMessage(Component.text("   ... and " + (dead.size() - 10) + " more")
+                    .color(NamedTextColor.GRAY));
+            }
+
+            if (fix) {
+                scanner.applyColors(report);
+                sender.sendMessage(Component.text("Re-colored scanned signs: dead signs are now red, live signs blue")
+                    .color(NamedTextColor.GREEN));
+            } else if (!dead.isEmpty()) {
+                sender.sendMessage(Component.text("Run again with 'fix' to turn dead signs red")
+                    .color(NamedTextColor.GRAY));
+            }
+        }));
+        return true;
+    }
+
+    private static boolean isInteger(String value) {
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
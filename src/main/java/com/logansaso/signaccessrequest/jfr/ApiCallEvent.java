@@ -0,0 +1,35 @@
+package com.logansaso.signaccessrequest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the events recorded for ConductorOne API calls.
+ * A status code of 0 means the call failed before a response was read.
+ */
+@Category({"SignAccessRequest", "ConductorOne API"})
+@StackTrace(false)
+public abstract class ApiCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Player UUID")
+    public String playerUuid;
+}
@@ -0,0 +1,28 @@
+package com.logansaso.signaccessrequest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans from a request completing to its result being shown to the player,
+ * so the duration is the wait for the player's thread plus the time spent sending messages.
+ */
+@Name("com.logansaso.signaccessrequest.FeedbackDispatch")
+@Label("C1 Feedback Dispatch")
+@Description("Hand-off of an access request result to the player's thread")
+@Category({"SignAccessRequest", "Server Thread"})
+@StackTrace(false)
+public class FeedbackDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Player UUID")
+    public String playerUuid;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,11 @@
+package com.logansaso.signaccessrequest.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.logansaso.signaccessrequest.Search")
+@Label("C1 Search")
+@Description("A ConductorOne search or read request")
+public class SearchEvent extends ApiCallEvent {
+}
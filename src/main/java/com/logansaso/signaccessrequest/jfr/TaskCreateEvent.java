@@ -0,0 +1,14 @@
+package com.logansaso.signaccessrequest.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.logansaso.signaccessrequest.TaskCreate")
+@Label("C1 Task Create")
+@Description("One attempt at creating a ConductorOne grant or revoke task")
+public class TaskCreateEvent extends ApiCallEvent {
+
+    @Label("Attempt")
+    public int attempt;
+}
@@ -0,0 +1,30 @@
+package com.logansaso.signaccessrequest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.logansaso.signaccessrequest.TokenFetch")
+@Label("C1 Token Fetch")
+@Description("Fetch of a ConductorOne access token, including signing the client assertion")
+@Category({"SignAccessRequest", "ConductorOne API"})
+@StackTrace(false)
+public class TokenFetchEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+}
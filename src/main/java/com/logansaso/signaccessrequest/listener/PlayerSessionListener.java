@@ -0,0 +1,35 @@
+package com.logansaso.signaccessrequest.listener;
+
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.client.GrantTracker;
+import com.logansaso.signaccessrequest.sign.SignStatusOverlay;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerSessionListener implements Listener {
+
+    private final SignAccessRequestPlugin plugin;
+
+    public PlayerSessionListener(SignAccessRequestPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        // Grants are only tracked for online players
+        for (C1ApiClient apiClient : plugin.getServices().current().getApiClients()) {
+            GrantTracker grantTracker = apiClient.getGrantTracker();
+            if (grantTracker != null) {
+                grantTracker.untrack(event.getPlayer().getUniqueId());
+            }
+        }
+
+        SignStatusOverlay statusOverlay = plugin.getStatusOverlay();
+        if (statusOverlay != null) {
+            statusOverlay.forget(event.getPlayer().getUniqueId());
+        }
+    }
+}
@@ -53,6 +53,7 @@ public class SignBreakListener implements Listener {
             // Player has permission - log the action
             String entitlementSlug = SignValidator.getPlainText(sign.line(1));
             plugin.getLogger().info("Player " + player.getName() + " destroyed a C1 access request sign (entitlement: " + entitlementSlug + ")");
+            plugin.getSignIndex().remove(block.getLocation());
         } else {
             // Invalid sign (red text) - can be destroyed by creator or anyone with destroy permission
             if (!player.hasPermission("signaccessrequest.create") &&
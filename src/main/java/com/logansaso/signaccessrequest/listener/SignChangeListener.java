@@ -1,18 +1,30 @@
 package com.logansaso.signaccessrequest.listener;
 
 import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.client.EntitlementCatalog;
 import com.logansaso.signaccessrequest.util.SignValidator;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.SignChangeEvent;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SignChangeListener implements Listener {
 
+    private static final long VERIFY_RETRY_MILLIS = 30_000;
+
     private final SignAccessRequestPlugin plugin;
+    // Sign location -> when its verification started, so clicks don't pile up lookups for the same sign
+    private final Map<Location, Long> verifying = new ConcurrentHashMap<>();
 
     public SignChangeListener(SignAccessRequestPlugin plugin) {
         this.plugin = plugin;
@@ -36,9 +48,10 @@ public class SignChangeListener implements Listener {
             return;
         }
 
-        // Determine sign type
+        // Determine sign type and the tenant it routes to
         SignValidator.SignType signType = SignValidator.getSignType(line1);
-        String signPrefix = SignValidator.getPrefixForType(signType);
+        String tenant = SignValidator.getTenant(line1);
+        String signPrefix = SignValidator.getPrefix(signType, tenant);
 
         // Validate the sign format
         Component line2 = event.line(1);
@@ -51,18 +64,155 @@ public class SignChangeListener implements Listener {
                 .color(NamedTextColor.RED));
             player.sendMessage(Component.text("   Example: prod-admin-access")
                 .color(NamedTextColor.GRAY));
+            plugin.getSignIndex().remove(event.getBlock().getLocation());
             return;
         }
 
-        // Valid sign - make line 1 blue, keep line 2 as-is
-        event.line(0, Component.text(signPrefix).color(NamedTextColor.BLUE));
+        C1ApiClient apiClient = plugin.getApiClient(tenant);
+        if (apiClient == null) {
+            event.line(0, Component.text(signPrefix).color(NamedTextColor.RED));
+            player.sendMessage(Component.text("✗ Invalid sign! Unknown tenant: " + tenant)
+                .color(NamedTextColor.RED));
+            player.sendMessage(Component.text("   Tenants are configured under 'tenants' in config.yml.")
+                .color(NamedTextColor.GRAY));
+            plugin.getSignIndex().remove(event.getBlock().getLocation());
+            return;
+        }
+
+        // Reject aliases the local catalog mirror knows do not exist
+        EntitlementCatalog catalog = apiClient.getCatalog();
+        if (catalog != null && !catalog.isKnownAlias(entitlementSlug)) {
+            event.line(0, Component.text(signPrefix).color(NamedTextColor.RED));
+            player.sendMessage(Component.text("✗ Invalid sign! Unknown entitlement alias: " + entitlementSlug)
+                .color(NamedTextColor.RED));
+            player.sendMessage(Component.text("   Check the alias in ConductorOne and try again.")
+                .color(NamedTextColor.GRAY));
+            plugin.getSignIndex().remove(event.getBlock().getLocation());
+            return;
+        }
+
+        // Well-formed sign - make line 1 yellow until the alias is verified
+        event.line(0, Component.text(signPrefix).color(NamedTextColor.YELLOW));
+        plugin.getSignIndex().remove(event.getBlock().getLocation());
+        player.sendMessage(Component.text("⏳ Verifying entitlement alias: " + entitlementSlug + "...")
+            .color(NamedTextColor.YELLOW));
+
+        Location location = event.getBlock().getLocation();
+        verifying.put(location, System.currentTimeMillis());
+        apiClient.resolveEntitlement(entitlementSlug).whenComplete((entitlement, error) ->
+            plugin.getTaskScheduler().runAtLocation(location, () -> {
+                verifying.remove(location);
+                finishVerification(player, location, signPrefix, signType, entitlementSlug, entitlement, error, false);
+            }));
+    }
+
+    /**
+     * Verifies a sign that is still pending when a player clicks it, e.g. because the server stopped before its
+     * verification finished. Runs on the thread that owns the sign.
+     */
+    public void reverify(Player player, Sign sign) {
+        Location location = sign.getLocation();
+        long now = System.currentTimeMillis();
+        Long started = verifying.get(location);
+        if (started != null && now - started < VERIFY_RETRY_MILLIS) {
+            player.sendMessage(Component.text("This sign is still being verified, try again in a moment.")
+                .color(NamedTextColor.YELLOW));
+            return;
+        }
+        verifying.put(location, now);
+
+        Component line1 = sign.line(0);
+        SignValidator.SignType signType = SignValidator.getSignType(line1);
+        String tenant = SignValidator.getTenant(line1);
+        String signPrefix = SignValidator.getPrefix(signType, tenant);
+        String alias = SignValidator.getPlainText(sign.line(1));
+
+        C1ApiClient apiClient = plugin.getApiClient(tenant);
+        if (apiClient == null || alias.isEmpty()) {
+            verifying.remove(location);
+            finishVerification(player, location, signPrefix, signType, alias, null, null, true);
+            return;
+        }
+
+        player.sendMessage(Component.text("⏳ Verifying this sign's entitlement alias: " + alias + "...")
+            .color(NamedTextColor.YELLOW));
+        apiClient.resolveEntitlement(alias).whenComplete((entitlement, error) ->
+            plugin.getTaskScheduler().runAtLocation(location, () -> {
+                verifying.remove(location);
+                finishVerification(player, location, signPrefix, signType, alias, entitlement, error, true);
+            }));
+    }
+
+    /**
+     * Applies the result of verifying a sign's alias. Runs on the thread that owns the sign.
+     *
+     * @param reverify Whether the player clicked a pending sign rather than placing it
+     */
+    private void finishVerification(Player player, Location location, String signPrefix, SignValidator.SignType signType,
+                                    String alias, C1ApiClient.ResolvedEntitlement entitlement, Throwable error,
+                                    boolean reverify) {
+        BlockState state = location.getBlock().getState();
+        if (!(state instanceof Sign)) {
+            return;
+        }
+
+        // Ignore the result if the sign was edited while it was being verified
+        Sign sign = (Sign) state;
+        if (!SignValidator.isPendingSign(sign.line(0)) || !alias.equals(SignValidator.getPlainText(sign.line(1)))) {
+            return;
+        }
 
         String actionType = signType == SignValidator.SignType.GRANT ? "grant" : "revoke";
-        player.sendMessage(Component.text("✓ C1 " + actionType + " sign created successfully!")
-            .color(NamedTextColor.GREEN));
-        player.sendMessage(Component.text("   Entitlement: " + entitlementSlug)
-            .color(NamedTextColor.GRAY));
 
-        plugin.getLogger().info("Player " + player.getName() + " created a C1 " + actionType + " sign for entitlement: " + entitlementSlug);
+        if (entitlement == null && error != null && reverify) {
+            // Leave the sign pending, so the next click tries again
+            plugin.getTaskScheduler().runForEntity(player, () ->
+                player.sendMessage(Component.text("Could not verify this sign right now, try again in a moment.")
+                    .color(NamedTextColor.YELLOW)));
+            plugin.getLogger().warning("Failed to verify entitlement alias " + alias + ": " + error.getMessage());
+            return;
+        }
+
+        if (entitlement == null) {
+            sign.line(0, Component.text(signPrefix).color(NamedTextColor.RED));
+            plugin.getSignData().clear(sign);
+            sign.update();
+
+            String reason = error != null
+                ? "Could not verify entitlement alias: " + alias + ". Place the sign again to retry."
+                : "Unknown entitlement alias: " + alias;
+            plugin.getTaskScheduler().runForEntity(player, () -> {
+                player.sendMessage(Component.text("✗ Invalid sign! " + reason)
+                    .color(NamedTextColor.RED));
+                player.sendMessage(Component.text("   Check the alias in ConductorOne and try again.")
+                    .color(NamedTextColor.GRAY));
+            });
+            if (error != null) {
+                plugin.getLogger().warning("Failed to verify entitlement alias " + alias + ": " + error.getMessage());
+            }
+            return;
+        }
+
+        // Verified sign - make line 1 blue and remember the resolved IDs for clicks
+        sign.line(0, Component.text(signPrefix).color(NamedTextColor.BLUE));
+        plugin.getSignData().store(sign, alias, entitlement);
+        sign.update();
+        plugin.getSignIndex().update(location, sign.lines());
+
+        if (reverify) {
+            plugin.getTaskScheduler().runForEntity(player, () ->
+                player.sendMessage(Component.text("✓ Sign verified, click it again to submit your " + actionType + " request.")
+                    .color(NamedTextColor.GREEN)));
+            return;
+        }
+
+        plugin.getTaskScheduler().runForEntity(player, () -> {
+            player.sendMessage(Component.text("✓ C1 " + actionType + " sign created successfully!")
+                .color(NamedTextColor.GREEN));
+            player.sendMessage(Component.text("   Entitlement: " + alias)
+                .color(NamedTextColor.GRAY));
+        });
+
+        plugin.getLogger().info("Player " + player.getName() + " created a C1 " + actionType + " sign for entitlement: " + alias);
     }
 }
@@ -0,0 +1,30 @@
+package com.logansaso.signaccessrequest.listener;
+
+import com.logansaso.signaccessrequest.sign.SignIndex;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+public class SignIndexListener implements Listener {
+
+    private final SignIndex signIndex;
+
+    public SignIndexListener(SignIndex signIndex) {
+        this.signIndex = signIndex;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        // Freshly generated chunks cannot contain player-placed signs
+        if (!event.isNewChunk()) {
+            signIndex.indexChunk(event.getChunk());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        signIndex.removeChunk(event.getChunk());
+    }
+}
@@ -2,10 +2,13 @@ package com.logansaso.signaccessrequest.listener;
 
 import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
 import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.jfr.FeedbackDispatchEvent;
 import com.logansaso.signaccessrequest.util.SignValidator;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -16,12 +19,12 @@ import org.bukkit.event.block.Action;
 
 public class SignInteractListener implements Listener {
 
-    private final C1ApiClient apiClient;
     private final SignAccessRequestPlugin plugin;
+    private final SignChangeListener signChangeListener;
 
-    public SignInteractListener(C1ApiClient apiClient, SignAccessRequestPlugin plugin) {
-        this.apiClient = apiClient;
+    public SignInteractListener(SignAccessRequestPlugin plugin, SignChangeListener signChangeListener) {
         this.plugin = plugin;
+        this.signChangeListener = signChangeListener;
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
@@ -53,6 +56,13 @@ public class SignInteractListener implements Listener {
             return;
         }
 
+        // Signs whose alias is still being verified are yellow; verify again in case the first attempt never finished
+        if (SignValidator.isPendingSign(line1)) {
+            event.setCancelled(true);
+            signChangeListener.reverify(player, sign);
+            return;
+        }
+
         // Check if sign is valid (blue text = valid)
         if (!SignValidator.isValidSign(line1)) {
             player.sendMessage(Component.text("This sign is not properly configured! The first line must be blue.")
@@ -79,21 +89,49 @@ public class SignInteractListener implements Listener {
         // Cancel the event to prevent any default behavior
         event.setCancelled(true);
 
+        // Use the sign's tenant, and one services version for the whole request even if a reload happens meanwhile
+        String tenant = SignValidator.getTenant(line1);
+        C1ApiClient apiClient = plugin.getApiClient(tenant);
+        if (apiClient == null) {
+            player.sendMessage(Component.text("This sign points at an unknown tenant: " + tenant)
+                .color(NamedTextColor.RED));
+            return;
+        }
+
         // Send task request with user feedback
         player.sendMessage(Component.text("⏳ Processing " + actionText + " request for: ")
             .color(NamedTextColor.YELLOW)
             .append(Component.text(entitlementAlias).color(NamedTextColor.WHITE))
             .append(Component.text("...").color(NamedTextColor.YELLOW)));
 
+        // Verified signs carry the resolved entitlement, so the alias lookup can be skipped while it is current
+        C1ApiClient.ResolvedEntitlement entitlement = plugin.getSignData().read(sign, entitlementAlias, apiClient);
+        if (entitlement == null) {
+            refreshStoredEntitlement(block.getLocation(), apiClient, entitlementAlias);
+        }
+
         // Choose the appropriate method based on sign type
         java.util.concurrent.CompletableFuture<com.logansaso.signaccessrequest.client.C1ApiClient.AccessRequestResult> taskFuture =
             signType == SignValidator.SignType.GRANT ?
-                apiClient.createGrantTask(player, entitlementAlias) :
-                apiClient.createRevokeTask(player, entitlementAlias);
+                apiClient.createGrantTask(player, entitlementAlias, entitlement) :
+                apiClient.createRevokeTask(player, entitlementAlias, entitlement);
 
         taskFuture.thenAccept(result -> {
-            // Schedule back to main thread for sending message
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
+            FeedbackDispatchEvent dispatchEvent = new FeedbackDispatchEvent();
+            dispatchEvent.playerUuid = player.getUniqueId().toString();
+            dispatchEvent.action = actionText;
+            dispatchEvent.outcome = result.isSuccess() ? "submitted"
+                : result.isQueued() ? "queued"
+                : result.hasExistingTasks() ? "existing" : "failed";
+            dispatchEvent.begin();
+
+            // Schedule back onto the player's thread for sending message
+            plugin.getTaskScheduler().runForEntity(player, () -> {
+                // The request may have changed what nearby signs should show
+                if (plugin.getStatusOverlay() != null) {
+                    plugin.getStatusOverlay().markDirty(player.getUniqueId());
+                }
+
                 if (result.isSuccess()) {
                     player.sendMessage(Component.text("✓ " + actionText.substring(0, 1).toUpperCase() + actionText.substring(1) + " request submitted successfully!")
                         .color(NamedTextColor.GREEN));
@@ -108,6 +146,10 @@ public class SignInteractListener implements Listener {
                                 .hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(
                                     Component.text("Click to open in browser").color(NamedTextColor.YELLOW)))));
                     }
+                } else if (result.isQueued()) {
+                    // ConductorOne is unreachable; the request will be submitted once it recovers
+                    player.sendMessage(Component.text("⏳ " + result.getMessage())
+                        .color(NamedTextColor.YELLOW));
                 } else if (result.hasExistingTasks()) {
                     // Show existing tasks
                     player.sendMessage(Component.text("ℹ " + result.getMessage())
@@ -129,9 +171,10 @@ public class SignInteractListener implements Listener {
                     player.sendMessage(Component.text("   " + result.getMessage())
                         .color(NamedTextColor.GRAY));
                 }
+                dispatchEvent.commit();
             });
         }).exceptionally(throwable -> {
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
+            plugin.getTaskScheduler().runForEntity(player, () -> {
                 player.sendMessage(Component.text("✗ An error occurred while submitting the request")
                     .color(NamedTextColor.RED));
                 player.sendMessage(Component.text("   Please contact an administrator")
@@ -144,4 +187,29 @@ public class SignInteractListener implements Listener {
             return null;
         });
     }
+
+    /**
+     * Resolves a sign's alias again and stores the result on the sign, so later clicks can skip the lookup again.
+     * The lookup is shared with the click's own request through the client's entitlement cache.
+     */
+    private void refreshStoredEntitlement(Location location, C1ApiClient apiClient, String alias) {
+        apiClient.resolveEntitlement(alias).thenAccept(entitlement -> {
+            if (entitlement == null) {
+                return;
+            }
+            plugin.getTaskScheduler().runAtLocation(location, () -> {
+                BlockState state = location.getBlock().getState();
+                if (!(state instanceof Sign)) {
+                    return;
+                }
+                // Skip signs that were edited or broken meanwhile
+                Sign sign = (Sign) state;
+                if (!SignValidator.isValidSign(sign.line(0)) || !alias.equals(SignValidator.getPlainText(sign.line(1)))) {
+                    return;
+                }
+                plugin.getSignData().store(sign, alias, entitlement);
+                sign.update();
+            });
+        });
+    }
 }
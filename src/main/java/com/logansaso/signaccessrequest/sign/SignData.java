@@ -0,0 +1,64 @@
+package com.logansaso.signaccessrequest.sign;
+
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Sign;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Reads and writes the entitlement a verified sign resolved to in the sign's persistent data,
+ * so clicks can skip the alias lookup. The alias is stored alongside the IDs so an edited sign
+ * is never matched against a stale entitlement, and the resolve time so the IDs expire like cached ones.
+ */
+public class SignData {
+
+    private final NamespacedKey aliasKey;
+    private final NamespacedKey appIdKey;
+    private final NamespacedKey entitlementIdKey;
+    private final NamespacedKey resolvedAtKey;
+
+    public SignData(SignAccessRequestPlugin plugin) {
+        this.aliasKey = new NamespacedKey(plugin, "alias");
+        this.appIdKey = new NamespacedKey(plugin, "app-id");
+        this.entitlementIdKey = new NamespacedKey(plugin, "entitlement-id");
+        this.resolvedAtKey = new NamespacedKey(plugin, "resolved-at");
+    }
+
+    /**
+     * Stores the resolved entitlement on the sign. Call Sign#update() afterwards to persist it.
+     */
+    public void store(Sign sign, String alias, C1ApiClient.ResolvedEntitlement entitlement) {
+        PersistentDataContainer data = sign.getPersistentDataContainer();
+        data.set(aliasKey, PersistentDataType.STRING, alias);
+        data.set(appIdKey, PersistentDataType.STRING, entitlement.getAppId());
+        data.set(entitlementIdKey, PersistentDataType.STRING, entitlement.getEntitlementId());
+        data.set(resolvedAtKey, PersistentDataType.LONG, System.currentTimeMillis());
+    }
+
+    public void clear(Sign sign) {
+        PersistentDataContainer data = sign.getPersistentDataContainer();
+        data.remove(aliasKey);
+        data.remove(appIdKey);
+        data.remove(entitlementIdKey);
+        data.remove(resolvedAtKey);
+    }
+
+    /**
+     * Reads the stored entitlement, or returns null if none is stored for this alias or the client no longer
+     * considers it current (expired, invalidated or contradicted by the catalog)
+     */
+    public C1ApiClient.ResolvedEntitlement read(Sign sign, String alias, C1ApiClient apiClient) {
+        PersistentDataContainer data = sign.getPersistentDataContainer();
+        String storedAlias = data.get(aliasKey, PersistentDataType.STRING);
+        String appId = data.get(appIdKey, PersistentDataType.STRING);
+        String entitlementId = data.get(entitlementIdKey, PersistentDataType.STRING);
+        Long resolvedAt = data.get(resolvedAtKey, PersistentDataType.LONG);
+        if (!alias.equals(storedAlias) || appId == null || entitlementId == null || resolvedAt == null) {
+            return null;
+        }
+        C1ApiClient.ResolvedEntitlement entitlement = new C1ApiClient.ResolvedEntitlement(appId, entitlementId);
+        return apiClient.isStoredEntitlementCurrent(alias, entitlement, resolvedAt) ? entitlement : null;
+    }
+}
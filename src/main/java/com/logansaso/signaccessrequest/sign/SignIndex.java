@@ -0,0 +1,204 @@
+package com.logansaso.signaccessrequest.sign;
+
+import com.logansaso.signaccessrequest.util.SignValidator;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the valid C1 signs in loaded chunks, grouped by world and chunk
+ * so signs near a location can be found without touching the world.
+ * Kept current by chunk load/unload events and sign creation/destruction.
+ */
+public class SignIndex {
+
+    // world name -> chunk key -> block key -> sign
+    private final Map<String, Map<Long, Map<Long, IndexedSign>>> signs = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes every valid C1 sign in a chunk, replacing what was indexed for it before
+     */
+    public void indexChunk(Chunk chunk) {
+        Map<Long, IndexedSign> chunkSigns = new ConcurrentHashMap<>();
+        for (BlockState state : chunk.getTileEntities(false)) {
+            if (state instanceof Sign) {
+                IndexedSign indexed = toIndexedSign((Sign) state);
+                if (indexed != null) {
+                    chunkSigns.put(blockKey(state.getX(), state.getY(), state.getZ()), indexed);
+                }
+            }
+        }
+
+        Map<Long, Map<Long, IndexedSign>> worldSigns = worldSigns(chunk.getWorld());
+        long chunkKey = chunkKey(chunk.getX(), chunk.getZ());
+        if (chunkSigns.isEmpty()) {
+            worldSigns.remove(chunkKey);
+        } else {
+            worldSigns.put(chunkKey, chunkSigns);
+        }
+    }
+
+    public void removeChunk(Chunk chunk) {
+        worldSigns(chunk.getWorld()).remove(chunkKey(chunk.getX(), chunk.getZ()));
+    }
+
+    /**
+     * Indexes a single sign from its lines, or removes it if the lines no longer make a valid C1 sign
+     */
+    public void update(Location location, List<Component> lines) {
+        IndexedSign indexed = toIndexedSign(location, lines);
+        if (indexed == null) {
+            remove(location);
+            return;
+        }
+
+        worldSigns(location.getWorld())
+            .computeIfAbsent(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), key -> new ConcurrentHashMap<>())
+            .put(blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ()), indexed);
+    }
+
+    public void remove(Location location) {
+        Map<Long, IndexedSign> chunkSigns = worldSigns(location.getWorld())
+            .get(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        if (chunkSigns != null) {
+            chunkSigns.remove(blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        }
+    }
+
+    /**
+     * Finds indexed signs within a horizontal radius of a location
+     */
+    public List<IndexedSign> findNearby(Location center, int radius) {
+        List<IndexedSign> nearby = new ArrayList<>();
+        Map<Long, Map<Long, IndexedSign>> worldSigns = signs.get(center.getWorld().getName());
+        if (worldSigns == null) {
+            return nearby;
+        }
+
+        long radiusSquared = (long) radius * radius;
+        int minChunkX = (center.getBlockX() - radius) >> 4;
+        int maxChunkX = (center.getBlockX() + radius) >> 4;
+        int minChunkZ = (center.getBlockZ() - radius) >> 4;
+        int maxChunkZ = (center.getBlockZ() + radius) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Map<Long, IndexedSign> chunkSigns = worldSigns.get(chunkKey(chunkX, chunkZ));
+                if (chunkSigns == null) {
+                    continue;
+                }
+                for (IndexedSign sign : chunkSigns.values()) {
+                    if (sign.getLocation().distanceSquared(center) <= radiusSquared) {
+                        nearby.add(sign);
+                    }
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * All distinct entitlement aliases on indexed signs routed to a tenant
+     */
+    public Set<String> getAliases(String tenant) {
+        Set<String> aliases = new HashSet<>();
+        for (Map<Long, Map<Long, IndexedSign>> worldSigns : signs.values()) {
+            for (Map<Long, IndexedSign> chunkSigns : worldSigns.values()) {
+                for (IndexedSign sign : chunkSigns.values()) {
+                    if (sign.getTenant().equals(tenant)) {
+                        aliases.add(sign.getAlias());
+                    }
+                }
+            }
+        }
+        return aliases;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Long, Map<Long, IndexedSign>> worldSigns : signs.values()) {
+            for (Map<Long, IndexedSign> chunkSigns : worldSigns.values()) {
+                size += chunkSigns.size();
+            }
+        }
+        return size;
+    }
+
+    private Map<Long, Map<Long, IndexedSign>> worldSigns(World world) {
+        return signs.computeIfAbsent(world.getName(), name -> new ConcurrentHashMap<>());
+    }
+
+    private static IndexedSign toIndexedSign(Sign sign) {
+        return toIndexedSign(sign.getLocation(), sign.lines());
+    }
+
+    private static IndexedSign toIndexedSign(Location location, List<Component> lines) {
+        if (lines.size() < 2 || !SignValidator.isValidSign(lines.get(0))) {
+            return null;
+        }
+        String alias = SignValidator.getPlainText(lines.get(1));
+        if (alias.isEmpty()) {
+            return null;
+        }
+        return new IndexedSign(location, alias, SignValidator.getSignType(lines.get(0)), SignValidator.getTenant(lines.get(0)),
+                               List.copyOf(lines));
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static class IndexedSign {
+        private final Location location;
+        private final String alias;
+        private final SignValidator.SignType type;
+        private final String tenant;
+        private final List<Component> lines;
+
+        public IndexedSign(Location location, String alias, SignValidator.SignType type, String tenant, List<Component> lines) {
+            this.location = location;
+            this.alias = alias;
+            this.type = type;
+            this.tenant = tenant;
+            this.lines = lines;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public SignValidator.SignType getType() {
+            return type;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        public List<Component> getLines() {
+            return lines;
+        }
+
+        public long getBlockKey() {
+            return blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+    }
+}
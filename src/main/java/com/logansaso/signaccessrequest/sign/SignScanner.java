@@ -0,0 +1,275 @@
+package com.logansaso.signaccessrequest.sign;
+
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.util.SignValidator;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Walks every generated chunk in a square around a point, finds C1 signs and checks their aliases.
+ * Chunks are loaded asynchronously with at most {@code max-chunks-in-flight} loads outstanding, and each
+ * loaded chunk is read for its signs on the region that owns it, one chunk per load slot per tick,
+ * so a large scan never does much work in one tick.
+ * Once every chunk is read, all distinct aliases are resolved in batches on each sign's tenant.
+ */
+public class SignScanner {
+
+    private final SignAccessRequestPlugin plugin;
+    private final int maxChunksInFlight;
+
+    public SignScanner(SignAccessRequestPlugin plugin) {
+        this.plugin = plugin;
+        this.maxChunksInFlight = Math.max(1, plugin.getConfig().getInt("scan.max-chunks-in-flight", 8));
+    }
+
+    /**
+     * Scans the chunks within radius blocks of a point
+     *
+     * @param progress Receives a short progress line roughly every tenth of the chunks
+     * @return A future completing with the report once every chunk has been read and every alias resolved
+     */
+    public CompletableFuture<ScanReport> scan(World world, int centerX, int centerZ, int radius, Consumer<String> progress) {
+        List<long[]> chunks = new ArrayList<>();
+        for (int chunkX = (centerX - radius) >> 4; chunkX <= (centerX + radius) >> 4; chunkX++) {
+            for (int chunkZ = (centerZ - radius) >> 4; chunkZ <= (centerZ + radius) >> 4; chunkZ++) {
+                chunks.add(new long[] {chunkX, chunkZ});
+            }
+        }
+
+        ScanReport report = new ScanReport(chunks.size());
+        CompletableFuture<ScanReport> chunksRead = new CompletableFuture<>();
+        AtomicInteger next = new AtomicInteger();
+        int reportEvery = Math.max(1, chunks.size() / 10);
+        for (int i = 0; i < Math.min(maxChunksInFlight, chunks.size()); i++) {
+            scanNext(world, chunks, next, report, reportEvery, progress, chunksRead);
+        }
+        if (chunks.isEmpty()) {
+            chunksRead.complete(report);
+        }
+
+        return chunksRead.thenCompose(this::resolveAliases);
+    }
+
+    /**
+     * Loads the next chunk and chains the one after it onto its read, keeping a fixed number of loads in flight.
+     * Every read is scheduled on the region that owns the chunk, even for chunks that were already loaded,
+     * so each load slot reads at most one chunk per tick. Ungenerated chunks are only counted, in a loop.
+     */
+    private void scanNext(World world, List<long[]> chunks, AtomicInteger next, ScanReport report, int reportEvery,
+                          Consumer<String> progress, CompletableFuture<ScanReport> done) {
+        while (true) {
+            int index = next.getAndIncrement();
+            if (index >= chunks.size()) {
+                return;
+            }
+
+            int chunkX = (int) chunks.get(index)[0];
+            int chunkZ = (int) chunks.get(index)[1];
+            if (!world.isChunkGenerated(chunkX, chunkZ)) {
+                if (finishChunk(null, chunks.size(), report, reportEvery, progress, done)) {
+                    return;
+                }
+                continue;
+            }
+
+            world.getChunkAtAsync(chunkX, chunkZ, false).whenComplete((chunk, error) ->
+                plugin.getTaskScheduler().runAtChunk(world, chunkX, chunkZ, () -> {
+                    if (!finishChunk(error == null ? chunk : null, chunks.size(), report, reportEvery, progress, done)) {
+                        scanNext(world, chunks, next, report, reportEvery, progress, done);
+                    }
+                }));
+            return;
+        }
+    }
+
+    /**
+     * Reads a scanned chunk's signs and counts it
+     *
+     * @return true if this was the last chunk
+     */
+    private static boolean finishChunk(Chunk chunk, int chunkCount, ScanReport report, int reportEvery,
+                                       Consumer<String> progress, CompletableFuture<ScanReport> done) {
+        if (chunk != null) {
+            readSigns(chunk, report);
+        }
+        int scanned = report.chunksScanned.incrementAndGet();
+        if (scanned == chunkCount) {
+            done.complete(report);
+            return true;
+        }
+        if (scanned % reportEvery == 0) {
+            progress.accept(scanned + "/" + chunkCount + " chunks, " + report.getSigns().size() + " C1 sign(s) found");
+        }
+        return false;
+    }
+
+    private static void readSigns(Chunk chunk, ScanReport report) {
+        for (BlockState state : chunk.getTileEntities(false)) {
+            if (!(state instanceof Sign)) {
+                continue;
+            }
+            Sign sign = (Sign) state;
+            if (!SignValidator.containsSignPrefix(sign.line(0))) {
+                continue;
+            }
+            report.addSign(new ScannedSign(sign.getLocation(), SignValidator.getPlainText(sign.line(1)),
+                                           SignValidator.getSignType(sign.line(0)), SignValidator.getTenant(sign.line(0))));
+        }
+    }
+
+    private CompletableFuture<ScanReport> resolveAliases(ScanReport report) {
+        // tenant -> aliases on its signs; signs for tenants that are not configured stay unresolved
+        Map<String, Set<String>> aliasesByTenant = new HashMap<>();
+        for (ScannedSign sign : report.getSigns()) {
+            if (!sign.alias.isEmpty() && plugin.getApiClient(sign.tenant) != null) {
+                aliasesByTenant.computeIfAbsent(sign.tenant, tenant -> new HashSet<>()).add(sign.alias);
+            }
+        }
+
+        Map<String, Map<String, C1ApiClient.ResolvedEntitlement>> resolved = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+        aliasesByTenant.forEach((tenant, aliases) ->
+            lookups.add(plugin.getApiClient(tenant).prefetchEntitlements(aliases)
+                .thenAccept(entitlements -> resolved.put(tenant, entitlements))));
+
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).thenApply(done -> {
+            report.resolved = resolved;
+            return report;
+        });
+    }
+
+    /**
+     * Re-colors every scanned sign to match its alias: dead signs turn red, live ones turn blue
+     * and get their resolved entitlement stored. Each sign is updated on the region that owns it.
+     */
+    public void applyColors(ScanReport report) {
+        for (ScannedSign scanned : report.getSigns()) {
+            C1ApiClient.ResolvedEntitlement entitlement = report.getResolved(scanned);
+            Location location = scanned.location;
+            location.getWorld().getChunkAtAsync(location.getBlockX() >> 4, location.getBlockZ() >> 4, false)
+                .thenAccept(chunk -> {
+                    if (chunk != null) {
+                        plugin.getTaskScheduler().runAtLocation(location, () -> applyColor(scanned, entitlement));
+                    }
+                });
+        }
+    }
+
+    private void applyColor(ScannedSign scanned, C1ApiClient.ResolvedEntitlement entitlement) {
+        BlockState state = scanned.location.getBlock().getState();
+        if (!(state instanceof Sign)) {
+            return;
+        }
+        Sign sign = (Sign) state;
+        if (!scanned.alias.equals(SignValidator.getPlainText(sign.line(1)))) {
+            return;
+        }
+
+        String prefix = SignValidator.getPrefix(scanned.type, scanned.tenant);
+        if (entitlement != null) {
+            sign.line(0, Component.text(prefix).color(NamedTextColor.BLUE));
+            plugin.getSignData().store(sign, scanned.alias, entitlement);
+        } else {
+            sign.line(0, Component.text(prefix).color(NamedTextColor.RED));
+            plugin.getSignData().clear(sign);
+        }
+        sign.update();
+        plugin.getSignIndex().update(scanned.location, sign.lines());
+    }
+
+    /**
+     * What a scan found. Filled in from chunk callbacks, then read once the scan completes.
+     */
+    public static class ScanReport {
+        private final int chunkCount;
+        private final AtomicInteger chunksScanned = new AtomicInteger();
+        private final List<ScannedSign> signs = new ArrayList<>();
+        // tenant -> alias -> entitlement
+        private volatile Map<String, Map<String, C1ApiClient.ResolvedEntitlement>> resolved = Map.of();
+
+        private ScanReport(int chunkCount) {
+            this.chunkCount = chunkCount;
+        }
+
+        private synchronized void addSign(ScannedSign sign) {
+            signs.add(sign);
+        }
+
+        public synchronized List<ScannedSign> getSigns() {
+            return new ArrayList<>(signs);
+        }
+
+        public int getChunkCount() {
+            return chunkCount;
+        }
+
+        public int getAliasCount() {
+            Set<String> aliases = new HashSet<>();
+            for (ScannedSign sign : getSigns()) {
+                aliases.add(sign.tenant + "/" + sign.alias);
+            }
+            return aliases.size();
+        }
+
+        private C1ApiClient.ResolvedEntitlement getResolved(ScannedSign sign) {
+            Map<String, C1ApiClient.ResolvedEntitlement> tenantResolved = resolved.get(sign.tenant);
+            return tenantResolved != null ? tenantResolved.get(sign.alias) : null;
+        }
+
+        /**
+         * Signs whose alias is missing or did not resolve
+         */
+        public List<ScannedSign> getDeadSigns() {
+            List<ScannedSign> dead = new ArrayList<>();
+            for (ScannedSign sign : getSigns()) {
+                if (getResolved(sign) == null) {
+                    dead.add(sign);
+                }
+            }
+            return dead;
+        }
+    }
+
+    public static class ScannedSign {
+        private final Location location;
+        private final String alias;
+        private final SignValidator.SignType type;
+        private final String tenant;
+
+        private ScannedSign(Location location, String alias, SignValidator.SignType type, String tenant) {
+            this.location = location;
+            this.alias = alias;
+            this.type = type;
+            this.tenant = tenant;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+    }
+}
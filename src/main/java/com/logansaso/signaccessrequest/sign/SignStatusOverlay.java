@@ -0,0 +1,161 @@
+package com.logansaso.signaccessrequest.sign;
+
+import com.logansaso.signaccessrequest.ServiceRegistry;
+import com.logansaso.signaccessrequest.SignAccessRequestPlugin;
+import com.logansaso.signaccessrequest.client.C1ApiClient;
+import com.logansaso.signaccessrequest.util.SignValidator;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Renders each player's access status onto nearby C1 signs with client-side sign changes.
+ * Statuses come only from local caches, so rendering never calls the API. Players are marked dirty
+ * (periodically and after each request) and a bounded number of dirty players is rendered per tick;
+ * only signs whose status changed since the last render are re-sent.
+ * Rendering happens on the main thread, or on each player's own region thread on Folia.
+ */
+public class SignStatusOverlay {
+
+    private final SignAccessRequestPlugin plugin;
+    private final SignIndex signIndex;
+    private final int radius;
+    private final int lineIndex;
+    private final int maxPlayersPerTick;
+    private final int refreshIntervalTicks;
+
+    private final Queue<UUID> dirtyQueue = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, RenderState> renderStates = new ConcurrentHashMap<>();
+    private int ticksUntilRefresh;
+
+    public SignStatusOverlay(SignAccessRequestPlugin plugin, SignIndex signIndex) {
+        this.plugin = plugin;
+        this.signIndex = signIndex;
+        this.radius = Math.max(1, plugin.getConfig().getInt("status-overlay.radius", 16));
+        this.lineIndex = Math.min(3, Math.max(2, plugin.getConfig().getInt("status-overlay.line", 4) - 1));
+        this.maxPlayersPerTick = Math.max(1, plugin.getConfig().getInt("status-overlay.max-players-per-tick", 10));
+        this.refreshIntervalTicks = Math.max(1, plugin.getConfig().getInt("status-overlay.refresh-interval-ticks", 40));
+    }
+
+    /**
+     * Queues a player to be re-rendered on an upcoming tick. Safe to call from any thread.
+     */
+    public void markDirty(UUID playerUuid) {
+        if (dirtyPlayers.add(playerUuid)) {
+            dirtyQueue.add(playerUuid);
+        }
+    }
+
+    /**
+     * Forgets what was rendered for a player, e.g. when they quit or change worlds
+     */
+    public void forget(UUID playerUuid) {
+        renderStates.remove(playerUuid);
+    }
+
+    /**
+     * Runs once per tick on the main thread (the global region on Folia)
+     */
+    public void tick() {
+        if (--ticksUntilRefresh <= 0) {
+            ticksUntilRefresh = refreshIntervalTicks;
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                markDirty(player.getUniqueId());
+            }
+        }
+
+        for (int rendered = 0; rendered < maxPlayersPerTick; rendered++) {
+            UUID playerUuid = dirtyQueue.poll();
+            if (playerUuid == null) {
+                return;
+            }
+            dirtyPlayers.remove(playerUuid);
+
+            Player player = plugin.getServer().getPlayer(playerUuid);
+            if (player == null || !player.isOnline()) {
+                renderStates.remove(playerUuid);
+                continue;
+            }
+            // On Folia the player may live on another region thread
+            if (plugin.getTaskScheduler().isFolia()) {
+                plugin.getTaskScheduler().runForEntity(player, () -> render(player));
+            } else {
+                render(player);
+            }
+        }
+    }
+
+    private void render(Player player) {
+        ServiceRegistry.Snapshot services = plugin.getServices().current();
+        String worldName = player.getWorld().getName();
+
+        RenderState state = renderStates.get(player.getUniqueId());
+        if (state == null || !state.worldName.equals(worldName)) {
+            state = new RenderState(worldName);
+            renderStates.put(player.getUniqueId(), state);
+        }
+
+        // Forget signs that left the radius: the client reloads their real text when the chunk comes back,
+        // so they must be sent again on return even if their status is unchanged
+        List<SignIndex.IndexedSign> nearby = signIndex.findNearby(player.getLocation(), radius);
+        Set<Long> nearbyKeys = new HashSet<>();
+        for (SignIndex.IndexedSign sign : nearby) {
+            nearbyKeys.add(sign.getBlockKey());
+        }
+        state.statuses.keySet().retainAll(nearbyKeys);
+
+        for (SignIndex.IndexedSign sign : nearby) {
+            C1ApiClient apiClient = services.getApiClient(sign.getTenant());
+            C1ApiClient.AccessStatus status = apiClient != null
+                ? apiClient.getCachedStatus(player, sign.getAlias())
+                : C1ApiClient.AccessStatus.UNKNOWN;
+            C1ApiClient.AccessStatus previous = state.statuses.put(sign.getBlockKey(), status);
+            if (status == previous || (previous == null && status == C1ApiClient.AccessStatus.UNKNOWN)) {
+                continue;
+            }
+
+            List<Component> lines = new ArrayList<>(sign.getLines());
+            Component statusLine = renderStatus(status, sign.getType());
+            if (statusLine != null) {
+                lines.set(lineIndex, statusLine);
+            }
+            // An UNKNOWN status restores the sign's real text
+            player.sendSignChange(sign.getLocation(), lines);
+        }
+    }
+
+    private static Component renderStatus(C1ApiClient.AccessStatus status, SignValidator.SignType type) {
+        switch (status) {
+            case GRANTED:
+                return Component.text("✔ granted").color(NamedTextColor.DARK_GREEN);
+            case PENDING:
+                return Component.text("⏳ pending").color(NamedTextColor.GOLD);
+            case NOT_GRANTED:
+                return type == SignValidator.SignType.REVOKE
+                    ? Component.text("✗ not granted").color(NamedTextColor.GRAY)
+                    : Component.text("available").color(NamedTextColor.GRAY);
+            default:
+                return null;
+        }
+    }
+
+    private static final class RenderState {
+        private final String worldName;
+        private final Map<Long, C1ApiClient.AccessStatus> statuses = new ConcurrentHashMap<>();
+
+        private RenderState(String worldName) {
+            this.worldName = worldName;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.logansaso.signaccessrequest.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * String key/value cache in a memory-mapped file, shared by every server process on the host that maps the same file.
+ * The file is a fixed-slot, open-addressed hash table living off-heap. Each slot carries a version used as a seqlock:
+ * writers claim a slot by bumping its version to odd with a CAS and publish by bumping it back to even, and readers
+ * never lock, retrying when the version moved underneath them. Entries carry an absolute expiry and a writer that
+ * loses a race simply skips the write, so the table stays a best-effort cache. Removing an entry expires it in
+ * place, keeping its slot in the probe sequence. Deleting the file resets it.
+ */
+public class SharedMemoryCache {
+
+    private static final int MAGIC = 0x43315243; // "C1RC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 256;
+    private static final int PROBE_LIMIT = 8;
+    private static final int READ_ATTEMPTS = 4;
+    private static final int MAX_SLOTS = 1 << 22;
+
+    // Slot layout: version, key hash, expiry, key length, value length, then the key and value bytes
+    private static final int VERSION_OFFSET = 0;
+    private static final int HASH_OFFSET = 8;
+    private static final int EXPIRY_OFFSET = 16;
+    private static final int KEY_LENGTH_OFFSET = 24;
+    private static final int VALUE_LENGTH_OFFSET = 26;
+    private static final int DATA_OFFSET = 28;
+    private static final int MAX_DATA_LENGTH = SLOT_SIZE - DATA_OFFSET;
+
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private SharedMemoryCache(MappedByteBuffer buffer, int slotCount) {
+        this.buffer = buffer;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Maps the cache file, creating and formatting it if needed. A file already formatted by another
+     * process keeps its slot count, so every process agrees on the layout.
+     */
+    public static SharedMemoryCache open(File file, int slotCount) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int slots;
+            // Only formatting is serialized across processes; the mapping itself is lock-free
+            try (FileLock lock = channel.lock()) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+                channel.read(header, 0);
+                int existingSlots = header.getInt(8);
+                boolean formatted = header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION && existingSlots > 0
+                    && channel.size() >= fileSize(existingSlots);
+
+                if (formatted) {
+                    slots = existingSlots;
+                } else {
+                    slots = Math.min(MAX_SLOTS, Math.max(PROBE_LIMIT, slotCount));
+                    channel.truncate(0);
+                    channel.write(ByteBuffer.allocate(1), fileSize(slots) - 1);
+                    header.clear();
+                    header.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, slots).putInt(12, SLOT_SIZE);
+                    channel.write(header, 0);
+                    channel.force(true);
+                }
+            }
+
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(slots));
+            buffer.order(ByteOrder.nativeOrder());
+            return new SharedMemoryCache(buffer, slots);
+        }
+    }
+
+    private static long fileSize(int slots) {
+        return HEADER_SIZE + (long) slots * SLOT_SIZE;
+    }
+
+    /**
+     * Gets the live value for a key, or null if it is missing, expired or being written right now
+     */
+    public String get(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        long now = System.currentTimeMillis();
+
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int base = slotOffset(hash, probe);
+            for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+                long version = (long) LONG.getAcquire(buffer, base + VERSION_OFFSET);
+                if ((version & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                long slotHash = buffer.getLong(base + HASH_OFFSET);
+                long expiresAt = buffer.getLong(base + EXPIRY_OFFSET);
+                int keyLength = buffer.getShort(base + KEY_LENGTH_OFFSET);
+                int valueLength = buffer.getShort(base + VALUE_LENGTH_OFFSET);
+                byte[] value = null;
+                boolean matches = slotHash == hash && keyLength == keyBytes.length
+                    && valueLength >= 0 && keyLength + valueLength <= MAX_DATA_LENGTH
+                    && keyEquals(base, keyBytes);
+                if (matches) {
+                    value = new byte[valueLength];
+                    buffer.get(base + DATA_OFFSET + keyLength, value);
+                }
+
+                // Everything read above must come from the same version of the slot
+                VarHandle.loadLoadFence();
+                if ((long) LONG.getAcquire(buffer, base + VERSION_OFFSET) != version) {
+                    continue;
+                }
+
+                if (slotHash == 0) {
+                    // An empty slot ends the probe sequence
+                    misses.increment();
+                    return null;
+                }
+                if (matches) {
+                    if (expiresAt <= now) {
+                        misses.increment();
+                        return null;
+                    }
+                    hits.increment();
+                    return new String(value, StandardCharsets.UTF_8);
+                }
+                break;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a value until the given time to live elapses. Entries too large for a slot are not stored,
+     * and the write is skipped if another process is writing the chosen slot.
+     */
+    public void put(String key, String value, long ttlMillis) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length + valueBytes.length > MAX_DATA_LENGTH) {
+            return;
+        }
+
+        long hash = hash(keyBytes);
+        long now = System.currentTimeMillis();
+        int target = -1;
+        long soonestExpiry = Long.MAX_VALUE;
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int base = slotOffset(hash, probe);
+            long slotHash = buffer.getLong(base + HASH_OFFSET);
+            long expiresAt = buffer.getLong(base + EXPIRY_OFFSET);
+            if (slotHash == 0 || (slotHash == hash && keyEquals(base, keyBytes))) {
+                target = base;
+                break;
+            }
+            // Otherwise replace an expired entry, or the one closest to expiring
+            if (expiresAt < soonestExpiry) {
+                soonestExpiry = expiresAt;
+                target = base;
+                if (expiresAt <= now) {
+                    break;
+                }
+            }
+        }
+
+        long version = (long) LONG.getAcquire(buffer, target + VERSION_OFFSET);
+        if ((version & 1) != 0 || !LONG.compareAndSet(buffer, target + VERSION_OFFSET, version, version + 1)) {
+            return;
+        }
+        try {
+            buffer.putLong(target + HASH_OFFSET, hash);
+            buffer.putLong(target + EXPIRY_OFFSET, now + ttlMillis);
+            buffer.putShort(target + KEY_LENGTH_OFFSET, (short) keyBytes.length);
+            buffer.putShort(target + VALUE_LENGTH_OFFSET, (short) valueBytes.length);
+            buffer.put(target + DATA_OFFSET, keyBytes);
+            buffer.put(target + DATA_OFFSET + keyBytes.length, valueBytes);
+        } finally {
+            LONG.setRelease(buffer, target + VERSION_OFFSET, version + 2);
+        }
+    }
+
+    /**
+     * Removes a key for every process sharing the file
+     *
+     * @return Whether a live entry was removed
+     */
+    public boolean remove(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int base = slotOffset(hash, probe);
+            long slotHash = buffer.getLong(base + HASH_OFFSET);
+            if (slotHash == 0) {
+                return false;
+            }
+            if (slotHash == hash && keyEquals(base, keyBytes)) {
+                return expire(base, hash);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes every live key matching a filter, for every process sharing the file. Scans the whole table.
+     *
+     * @return The number of entries removed
+     */
+    public int removeIf(Predicate<String> keyFilter) {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = HEADER_SIZE + slot * SLOT_SIZE;
+            long slotHash = buffer.getLong(base + HASH_OFFSET);
+            int keyLength = buffer.getShort(base + KEY_LENGTH_OFFSET);
+            if (slotHash == 0 || buffer.getLong(base + EXPIRY_OFFSET) <= now || keyLength <= 0 || keyLength > MAX_DATA_LENGTH) {
+                continue;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(base + DATA_OFFSET, keyBytes);
+            // The key may have been torn by a concurrent write; the hash check under the lock in expire() catches that
+            if (hash(keyBytes) == slotHash && keyFilter.test(new String(keyBytes, StandardCharsets.UTF_8))
+                    && expire(base, slotHash)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Expires the entry in a slot if it still holds the given hash, waiting briefly for a concurrent writer
+     */
+    private boolean expire(int base, long hash) {
+        for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+            long version = (long) LONG.getAcquire(buffer, base + VERSION_OFFSET);
+            if ((version & 1) != 0 || !LONG.compareAndSet(buffer, base + VERSION_OFFSET, version, version + 1)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                if (buffer.getLong(base + HASH_OFFSET) != hash) {
+                    return false;
+                }
+                buffer.putLong(base + EXPIRY_OFFSET, 0);
+                return true;
+            } finally {
+                LONG.setRelease(buffer, base + VERSION_OFFSET, version + 2);
+            }
+        }
+        return false;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private boolean keyEquals(int base, byte[] keyBytes) {
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(base + DATA_OFFSET + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slotOffset(long hash, int probe) {
+        int slot = (int) (((hash & Long.MAX_VALUE) + probe) % slotCount);
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * 64-bit FNV-1a, never 0 since 0 marks an empty slot
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash != 0 ? hash : 1;
+    }
+}
@@ -6,6 +6,9 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Utility class for validating and working with C1 access request signs
  */
@@ -13,6 +16,10 @@ public class SignValidator {
 
     public static final String GRANT_SIGN_PREFIX = "[c1-req]";
     public static final String REVOKE_SIGN_PREFIX = "[c1-drop]";
+    public static final String DEFAULT_TENANT = "default";
+
+    // [c1-req] or [c1-drop], optionally routed to a named tenant as [c1-req@staging]
+    private static final Pattern SIGN_PREFIX_PATTERN = Pattern.compile("\\[(c1-req|c1-drop)(?:@([a-z0-9_-]+))?]");
 
     public enum SignType {
         GRANT,
@@ -44,6 +51,18 @@ public class SignValidator {
         return color != null && color.equals(NamedTextColor.RED);
     }
 
+    /**
+     * Checks if a component has yellow text color
+     */
+    public static boolean isYellowText(Component component) {
+        if (component == null) {
+            return false;
+        }
+
+        TextColor color = component.color();
+        return color != null && color.equals(NamedTextColor.YELLOW);
+    }
+
     /**
      * Extracts plain text from a component, removing all formatting
      */
@@ -58,21 +77,29 @@ public class SignValidator {
      * Checks if the text contains any C1 sign prefix
      */
     public static boolean containsSignPrefix(Component component) {
-        String plainText = getPlainText(component);
-        return plainText.contains(GRANT_SIGN_PREFIX) || plainText.contains(REVOKE_SIGN_PREFIX);
+        return SIGN_PREFIX_PATTERN.matcher(getPlainText(component)).find();
     }
 
     /**
      * Determines the sign type from the component
      */
     public static SignType getSignType(Component component) {
-        String plainText = getPlainText(component).toLowerCase();
-        if (plainText.contains(GRANT_SIGN_PREFIX)) {
-            return SignType.GRANT;
-        } else if (plainText.contains(REVOKE_SIGN_PREFIX)) {
-            return SignType.REVOKE;
+        Matcher matcher = SIGN_PREFIX_PATTERN.matcher(getPlainText(component).toLowerCase());
+        if (!matcher.find()) {
+            return SignType.UNKNOWN;
         }
-        return SignType.UNKNOWN;
+        return matcher.group(1).equals("c1-req") ? SignType.GRANT : SignType.REVOKE;
+    }
+
+    /**
+     * Gets the tenant a sign routes to: the name after '@' in the prefix, or the default tenant
+     */
+    public static String getTenant(Component component) {
+        Matcher matcher = SIGN_PREFIX_PATTERN.matcher(getPlainText(component).toLowerCase());
+        if (!matcher.find() || matcher.group(2) == null) {
+            return DEFAULT_TENANT;
+        }
+        return matcher.group(2);
     }
 
     /**
@@ -89,6 +116,17 @@ public class SignValidator {
         }
     }
 
+    /**
+     * Gets the prefix for a sign type routed to a tenant, e.g. [c1-req@staging]
+     */
+    public static String getPrefix(SignType type, String tenant) {
+        String prefix = getPrefixForType(type);
+        if (tenant == null || tenant.equals(DEFAULT_TENANT)) {
+            return prefix;
+        }
+        return prefix.substring(0, prefix.length() - 1) + "@" + tenant + "]";
+    }
+
     /**
      * Checks if a sign is valid (has blue text on line 1)
      */
@@ -96,6 +134,13 @@ public class SignValidator {
         return containsSignPrefix(line1) && isBlueText(line1);
     }
 
+    /**
+     * Checks if a sign is still having its alias verified (has yellow text on line 1)
+     */
+    public static boolean isPendingSign(Component line1) {
+        return containsSignPrefix(line1) && isYellowText(line1);
+    }
+
     /**
      * Checks if a sign is invalid (has red text on line 1)
      */
@@ -0,0 +1,125 @@
+package com.logansaso.signaccessrequest.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules plugin work on the right thread for the server software.
+ * On Folia, player work goes to the player's entity scheduler, sign and chunk work to the owning region,
+ * and timers to the global region or async schedulers. On Paper everything falls back to the Bukkit scheduler.
+ */
+public class TaskScheduler {
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+    private final boolean folia;
+
+    public TaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.folia = detectFolia();
+    }
+
+    public boolean isFolia() {
+        return folia;
+    }
+
+    /**
+     * Runs a task on the thread that owns an entity. The task is dropped if the entity is removed first.
+     */
+    public void runForEntity(Entity entity, Runnable task) {
+        if (folia) {
+            entity.getScheduler().run(plugin, scheduled -> task.run(), null);
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Runs a task for a command sender: on its entity's thread for players, on the global thread otherwise
+     */
+    public void runForSender(CommandSender sender, Runnable task) {
+        if (sender instanceof Entity) {
+            runForEntity((Entity) sender, task);
+        } else {
+            runGlobal(task);
+        }
+    }
+
+    /**
+     * Runs a task on the region that owns a location
+     */
+    public void runAtLocation(Location location, Runnable task) {
+        if (folia) {
+            plugin.getServer().getRegionScheduler().execute(plugin, location, task);
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Runs a task on the region that owns a chunk
+     */
+    public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        if (folia) {
+            plugin.getServer().getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Runs a task on the global region (the main thread on Paper)
+     */
+    public void runGlobal(Runnable task) {
+        if (folia) {
+            plugin.getServer().getGlobalRegionScheduler().execute(plugin, task);
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Repeats a task on the global region (the main thread on Paper)
+     */
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        if (folia) {
+            // Folia requires a positive initial delay
+            return plugin.getServer().getGlobalRegionScheduler()
+                .runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks), periodTicks)::cancel;
+        }
+        return plugin.getServer().getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    /**
+     * Repeats a task off the server threads
+     */
+    public Task runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+        if (folia) {
+            return plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks) * MILLIS_PER_TICK, periodTicks * MILLIS_PER_TICK, TimeUnit.MILLISECONDS)::cancel;
+        }
+        return plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A scheduled repeating task
+     */
+    public interface Task {
+        void cancel();
+    }
+}
@@ -0,0 +1,199 @@
+package com.logansaso.signaccessrequest.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Small thread-safe key/value cache where every entry expires after a fixed time to live.
+ * Expired entries are dropped lazily on read and swept periodically on write.
+ */
+public class TtlCache<K, V> {
+
+    private static final int SWEEP_INTERVAL = 256;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicInteger writesSinceSweep = new AtomicInteger();
+
+    public TtlCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Gets the cached value for a key, or null if it is missing or expired
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Gets the cached value without counting a hit or miss, for callers that only inspect the cache
+     */
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.currentTimeMillis()) ? entry.value : null;
+    }
+
+    /**
+     * Stores a value using the cache's default time to live
+     */
+    public void put(K key, V value) {
+        long now = System.currentTimeMillis();
+        entries.put(key, new Entry<>(value, now, now + ttlMillis));
+
+        if (writesSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            writesSinceSweep.set(0);
+            evictExpired();
+        }
+    }
+
+    /**
+     * Stores a value that expires at the given time, unless a live value is already cached for the key.
+     * Used to restore entries whose expiry was decided earlier.
+     *
+     * @return true if the value was stored
+     */
+    public boolean putUntil(K key, V value, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return false;
+        }
+        Entry<V> entry = new Entry<>(value, now, expiresAt);
+        return entries.compute(key, (k, existing) ->
+            existing != null && !existing.isExpired(now) ? existing : entry) == entry;
+    }
+
+    /**
+     * Copies every live entry from another cache, keeping each entry's original expiry
+     */
+    public void copyFrom(TtlCache<K, V> other) {
+        long now = System.currentTimeMillis();
+        other.entries.forEach((key, entry) -> {
+            if (!entry.isExpired(now)) {
+                entries.put(key, entry);
+            }
+        });
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every entry whose key matches the filter
+     *
+     * @return The number of entries removed
+     */
+    public int invalidateIf(Predicate<K> keyFilter) {
+        int removed = 0;
+        for (K key : entries.keySet()) {
+            if (keyFilter.test(key) && entries.remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Visits every live entry
+     */
+    public void forEachLive(BiConsumer<K, V> consumer) {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (!entry.isExpired(now)) {
+                consumer.accept(key, entry.value);
+            }
+        });
+    }
+
+    /**
+     * Visits every live entry along with the time it expires
+     */
+    public void forEachLive(ExpiringEntryConsumer<K, V> consumer) {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (!entry.isExpired(now)) {
+                consumer.accept(key, entry.value, entry.expiresAt);
+            }
+        });
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Removes every expired entry
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Age of the oldest live entry in milliseconds, or 0 if the cache is empty
+     */
+    public long getOldestEntryAgeMillis() {
+        long now = System.currentTimeMillis();
+        long oldest = now;
+        for (Entry<V> entry : entries.values()) {
+            if (!entry.isExpired(now) && entry.createdAt < oldest) {
+                oldest = entry.createdAt;
+            }
+        }
+        return now - oldest;
+    }
+
+    @FunctionalInterface
+    public interface ExpiringEntryConsumer<K, V> {
+        void accept(K key, V value, long expiresAt);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+        private final long expiresAt;
+
+        private Entry(V value, long createdAt, long expiresAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
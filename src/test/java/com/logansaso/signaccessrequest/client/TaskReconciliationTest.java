@@ -0,0 +1,103 @@
+package com.logansaso.signaccessrequest.client;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Feeds tasks shaped like the API spec's {@code c1.api.task.v1.Task} through the retry reconciliation
+ */
+class TaskReconciliationTest {
+
+    private static final String BASE_URL = "https://example.conductor.one";
+    private static final UUID PLAYER = UUID.fromString("5f0c1a2b-3c4d-4e5f-8a9b-0c1d2e3f4a5b");
+    private static final String KEY = "0d9f4c2e-8b1a-3c6d-9e7f-2a4b6c8d0e1f";
+
+    @Test
+    void grantTaskIsMatchedByItsDataKey() {
+        JsonObject task = JsonParser.parseString("""
+            {
+              "id": "2abcDEF",
+              "numericId": "1234",
+              "displayName": "Grant Builder to Steve",
+              "state": "TASK_STATE_OPEN",
+              "type": { "grant": { "appId": "app", "appEntitlementId": "ent", "appUserId": "user" } },
+              "data": { "source": "minecraft-sign", "idempotencyKey": "%s" }
+            }
+            """.formatted(KEY)).getAsJsonObject();
+
+        C1ApiClient.ExistingTask parsed = C1ApiClient.parseTask(task, BASE_URL);
+
+        assertEquals("grant", parsed.getTaskType());
+        assertEquals(KEY, parsed.getIdempotencyKey());
+        assertEquals(BASE_URL + "/task/1234", parsed.getTaskUrl());
+        assertTrue(C1ApiClient.isOwnAttempt(parsed, C1ApiClient.TaskAction.GRANT, KEY));
+        assertFalse(C1ApiClient.isOwnAttempt(parsed, C1ApiClient.TaskAction.REVOKE, KEY));
+    }
+
+    @Test
+    void revokeTaskIsMatchedByItsDescriptionKey() {
+        JsonObject task = JsonParser.parseString("""
+            {
+              "id": "2abcDEF",
+              "numericId": "1235",
+              "state": "TASK_STATE_OPEN",
+              "type": { "revoke": { "appId": "app", "appEntitlementId": "ent", "appUserId": "user" } },
+              "description": "Access revocation from Minecraft player: Steve (request %s)"
+            }
+            """.formatted(KEY)).getAsJsonObject();
+
+        C1ApiClient.ExistingTask parsed = C1ApiClient.parseTask(task, BASE_URL);
+
+        assertEquals("revoke", parsed.getTaskType());
+        assertTrue(C1ApiClient.isOwnAttempt(parsed, C1ApiClient.TaskAction.REVOKE, KEY));
+    }
+
+    @Test
+    void createdRequestRoundTripsThroughTheTask() {
+        for (C1ApiClient.TaskAction action : C1ApiClient.TaskAction.values()) {
+            JsonObject body = C1ApiClient.buildTaskRequestBody(PLAYER, "Steve", action, "app", "ent", "user", KEY);
+
+            // The server keeps the description and returns the grant's requestData as the task's data
+            JsonObject task = new JsonObject();
+            task.addProperty("numericId", "1236");
+            JsonObject type = new JsonObject();
+            type.add(action.getName(), new JsonObject());
+            task.add("type", type);
+            task.add("description", body.get("description"));
+            if (body.has("requestData")) {
+                task.add("data", body.get("requestData"));
+            }
+
+            C1ApiClient.ExistingTask parsed = C1ApiClient.parseTask(task, BASE_URL);
+            assertTrue(C1ApiClient.isOwnAttempt(parsed, action, KEY), action.getName());
+
+            // Even when the data is not echoed back, the description still identifies the attempt
+            task.remove("data");
+            assertTrue(C1ApiClient.isOwnAttempt(C1ApiClient.parseTask(task, BASE_URL), action, KEY), action.getName());
+        }
+    }
+
+    @Test
+    void someoneElsesTaskIsNotMatched() {
+        JsonObject task = JsonParser.parseString("""
+            {
+              "numericId": "1237",
+              "type": { "grant": {} },
+              "description": "Requested from the web app"
+            }
+            """).getAsJsonObject();
+
+        C1ApiClient.ExistingTask parsed = C1ApiClient.parseTask(task, BASE_URL);
+
+        assertNull(parsed.getIdempotencyKey());
+        assertFalse(C1ApiClient.isOwnAttempt(parsed, C1ApiClient.TaskAction.GRANT, KEY));
+    }
+}